@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.vaadin.hilla.BrowserCallable;
+import com.vaadin.hilla.Endpoint;
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.ClassOutput;
+import io.quarkus.gizmo.MethodCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.PrimitiveType;
+import org.jboss.jandex.Type;
+
+import com.github.mcollovati.quarkus.hilla.EndpointMethodInvoker;
+import com.github.mcollovati.quarkus.hilla.EndpointMethodInvokers;
+
+/**
+ * Generates an {@link EndpointMethodInvoker} for every public method that Hilla can invoke on endpoints.
+ * <p>
+ * Invokers are generated for the public instance methods declared by classes annotated with {@link BrowserCallable}
+ * or {@link Endpoint} and by their superclasses. A method is skipped, and keeps being invoked reflectively, if the
+ * generated class could not access it: when the declaring class or a parameter type is not public, or a parameter is
+ * an array.
+ */
+class EndpointInvokerGenerator {
+
+    private static final DotName OBJECT = DotName.createSimple(Object.class.getName());
+    private static final String INVOKER_SUFFIX = "_HillaInvoker_";
+
+    private final IndexView index;
+    private final ClassOutput classOutput;
+    private final Map<String, String> invokers = new LinkedHashMap<>();
+    private final Set<String> coveredClasses = new HashSet<>();
+
+    EndpointInvokerGenerator(IndexView index, ClassOutput classOutput) {
+        this.index = index;
+        this.classOutput = classOutput;
+    }
+
+    /**
+     * Generates the invokers for all the endpoints in the index.
+     *
+     * @return this generator
+     */
+    EndpointInvokerGenerator generate() {
+        Set<DotName> visited = new HashSet<>();
+        for (DotName annotation :
+                List.of(DotName.createSimple(BrowserCallable.class), DotName.createSimple(Endpoint.class))) {
+            index.getAnnotations(annotation).stream()
+                    .filter(ann -> ann.target().kind() == AnnotationTarget.Kind.CLASS)
+                    .map(ann -> ann.target().asClass())
+                    .forEach(endpoint -> {
+                        ClassInfo current = endpoint;
+                        while (current != null && !OBJECT.equals(current.name()) && visited.add(current.name())) {
+                            generate(current);
+                            current = current.superName() != null ? index.getClassByName(current.superName()) : null;
+                        }
+                    });
+        }
+        return this;
+    }
+
+    /**
+     * Gets the names of the generated invoker classes.
+     *
+     * @return the names of the invoker classes, by method key
+     * @see EndpointMethodInvokers#key(String, String, Iterable)
+     */
+    Map<String, String> getInvokers() {
+        return invokers;
+    }
+
+    /**
+     * Gets the classes for which an invoker has been generated for every public instance method, so that their
+     * methods are never invoked reflectively.
+     *
+     * @return the names of the covered classes
+     */
+    Set<String> getCoveredClasses() {
+        return coveredClasses;
+    }
+
+    private void generate(ClassInfo declaringClass) {
+        boolean classIsPublic = Modifier.isPublic(declaringClass.flags());
+        boolean covered = classIsPublic;
+        for (MethodInfo method : declaringClass.methods()) {
+            if (!Modifier.isPublic(method.flags()) || Modifier.isStatic(method.flags()) || isConstructor(method)) {
+                continue;
+            }
+            if (classIsPublic && isAccessible(method)) {
+                generate(declaringClass, method);
+            } else {
+                covered = false;
+            }
+        }
+        if (covered) {
+            coveredClasses.add(declaringClass.name().toString());
+        }
+    }
+
+    private void generate(ClassInfo declaringClass, MethodInfo method) {
+        List<String> parameterTypes = new ArrayList<>();
+        for (Type parameterType : method.parameterTypes()) {
+            parameterTypes.add(parameterType.name().toString());
+        }
+        String className = declaringClass.name().toString();
+        String invokerName = className + INVOKER_SUFFIX + invokers.size();
+        try (ClassCreator creator = ClassCreator.builder()
+                .classOutput(classOutput)
+                .className(invokerName)
+                .interfaces(EndpointMethodInvoker.class)
+                .build()) {
+            MethodCreator invoke = creator.getMethodCreator("invoke", Object.class, Object.class, Object[].class);
+            invoke.addException(Throwable.class);
+            ResultHandle endpoint = invoke.checkCast(invoke.getMethodParam(0), className);
+            ResultHandle[] arguments = new ResultHandle[parameterTypes.size()];
+            for (int i = 0; i < arguments.length; i++) {
+                ResultHandle argument = invoke.readArrayValue(invoke.getMethodParam(1), i);
+                Type parameterType = method.parameterType(i);
+                arguments[i] = parameterType.kind() == Type.Kind.PRIMITIVE
+                        ? unbox(invoke, argument, parameterType.asPrimitiveType())
+                        : invoke.checkCast(argument, parameterTypes.get(i));
+            }
+            ResultHandle result = invoke.invokeVirtualMethod(MethodDescriptor.of(method), endpoint, arguments);
+            Type returnType = method.returnType();
+            if (returnType.kind() == Type.Kind.VOID) {
+                invoke.returnNull();
+            } else if (returnType.kind() == Type.Kind.PRIMITIVE) {
+                invoke.returnValue(box(invoke, result, returnType.asPrimitiveType()));
+            } else {
+                invoke.returnValue(result);
+            }
+        }
+        invokers.put(EndpointMethodInvokers.key(className, method.name(), parameterTypes), invokerName);
+    }
+
+    private boolean isAccessible(MethodInfo method) {
+        for (Type parameterType : method.parameterTypes()) {
+            if (parameterType.kind() == Type.Kind.ARRAY) {
+                return false;
+            }
+            if (parameterType.kind() != Type.Kind.PRIMITIVE) {
+                // classes not in the index, such as JDK types, are assumed to be public
+                ClassInfo parameterClass = index.getClassByName(parameterType.name());
+                if (parameterClass != null && !Modifier.isPublic(parameterClass.flags())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConstructor(MethodInfo method) {
+        return method.name().equals("<init>") || method.name().equals("<clinit>");
+    }
+
+    private static ResultHandle unbox(MethodCreator creator, ResultHandle value, PrimitiveType type) {
+        Class<?> primitive = primitiveClass(type);
+        Class<?> wrapper = wrapperClass(type);
+        return creator.invokeVirtualMethod(
+                MethodDescriptor.ofMethod(wrapper, primitive.getName() + "Value", primitive),
+                creator.checkCast(value, wrapper));
+    }
+
+    private static ResultHandle box(MethodCreator creator, ResultHandle value, PrimitiveType type) {
+        Class<?> wrapper = wrapperClass(type);
+        return creator.invokeStaticMethod(
+                MethodDescriptor.ofMethod(wrapper, "valueOf", wrapper, primitiveClass(type)), value);
+    }
+
+    private static Class<?> primitiveClass(PrimitiveType type) {
+        return switch (type.primitive()) {
+            case BOOLEAN -> boolean.class;
+            case BYTE -> byte.class;
+            case CHAR -> char.class;
+            case SHORT -> short.class;
+            case INT -> int.class;
+            case LONG -> long.class;
+            case FLOAT -> float.class;
+            case DOUBLE -> double.class;
+        };
+    }
+
+    private static Class<?> wrapperClass(PrimitiveType type) {
+        return switch (type.primitive()) {
+            case BOOLEAN -> Boolean.class;
+            case BYTE -> Byte.class;
+            case CHAR -> Character.class;
+            case SHORT -> Short.class;
+            case INT -> Integer.class;
+            case LONG -> Long.class;
+            case FLOAT -> Float.class;
+            case DOUBLE -> Double.class;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import java.util.Set;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ * Holds the endpoint classes whose public methods are all invoked through build-time generated invokers instead of
+ * reflection.
+ */
+public final class EndpointInvokersBuildItem extends SimpleBuildItem {
+
+    private final Set<String> coveredClasses;
+
+    public EndpointInvokersBuildItem(Set<String> coveredClasses) {
+        this.coveredClasses = Set.copyOf(coveredClasses);
+    }
+
+    public boolean isCovered(String className) {
+        return coveredClasses.contains(className);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.PrimitiveType;
+import org.jboss.jandex.Type;
+
+/**
+ * Collects the types that Jackson serializes or deserializes when endpoint methods are invoked.
+ * <p>
+ * Starting from the parameter and return types of endpoint methods, the collector follows type arguments, array
+ * components, superclasses and interfaces, the types of fields and accessors, and polymorphic subtypes declared with
+ * {@link JsonSubTypes} or {@link JsonTypeInfo}. JDK types and the types of the libraries handled by Hilla, such as
+ * reactive streams and JSON nodes, are not collected.
+ */
+class EndpointTypesCollector {
+
+    private static final DotName OBJECT = DotName.createSimple(Object.class.getName());
+    private static final DotName BOOLEAN = DotName.createSimple(Boolean.class.getName());
+    private static final DotName JSON_SUB_TYPES = DotName.createSimple(JsonSubTypes.class.getName());
+    private static final DotName JSON_TYPE_INFO = DotName.createSimple(JsonTypeInfo.class.getName());
+    private static final String JACKSON_ANNOTATIONS_PACKAGE = JsonSubTypes.class.getPackageName() + ".";
+    private static final List<String> EXCLUDED_PACKAGES = List.of(
+            "java.",
+            "javax.",
+            "jakarta.",
+            "reactor.",
+            "org.reactivestreams.",
+            "io.smallrye.mutiny.",
+            "tools.jackson.",
+            "com.fasterxml.jackson.");
+
+    private final IndexView index;
+    private final Set<DotName> visited = new HashSet<>();
+    private final List<ClassInfo> types = new ArrayList<>();
+
+    EndpointTypesCollector(IndexView index) {
+        this.index = index;
+    }
+
+    /**
+     * Collects the types used by the public methods of the given endpoint and of its superclasses.
+     * <p>
+     * Type arguments of generic superclasses and interfaces are collected as well, since they usually are the
+     * entities handled by inherited service methods, whose declaring classes may not be indexed.
+     *
+     * @param endpoint the endpoint class
+     */
+    void addEndpoint(ClassInfo endpoint) {
+        ClassInfo current = endpoint;
+        while (current != null && !OBJECT.equals(current.name())) {
+            for (MethodInfo method : current.methods()) {
+                if (Modifier.isPublic(method.flags())
+                        && !Modifier.isStatic(method.flags())
+                        && !method.isConstructor()) {
+                    visit(method.returnType());
+                    method.parameterTypes().forEach(this::visit);
+                }
+            }
+            visitTypeArguments(current.superClassType());
+            current.interfaceTypes().forEach(this::visitTypeArguments);
+            current = current.superName() != null ? index.getClassByName(current.superName()) : null;
+        }
+    }
+
+    /**
+     * Collects the given type and the types reachable from it.
+     *
+     * @param type the type to collect
+     */
+    void addType(ClassInfo type) {
+        visitClass(type.name());
+    }
+
+    /**
+     * Gets the collected types.
+     *
+     * @return the collected types, in discovery order
+     */
+    List<ClassInfo> getTypes() {
+        return types;
+    }
+
+    /**
+     * Checks whether Jackson may call the given method to read or write a property.
+     *
+     * @param method the method to check
+     * @return {@literal true} if the method is a getter, a setter or is annotated with a Jackson annotation
+     */
+    static boolean isAccessor(MethodInfo method) {
+        if (method.declaredAnnotations().stream()
+                .anyMatch(annotation -> annotation.name().toString().startsWith(JACKSON_ANNOTATIONS_PACKAGE))) {
+            return true;
+        }
+        if (!Modifier.isPublic(method.flags()) || Modifier.isStatic(method.flags())) {
+            return false;
+        }
+        String name = method.name();
+        if (method.parametersCount() == 0) {
+            Type returnType = method.returnType();
+            return (name.length() > 3 && name.startsWith("get") && returnType.kind() != Type.Kind.VOID)
+                    || (name.length() > 2 && name.startsWith("is") && isBoolean(returnType));
+        }
+        return method.parametersCount() == 1 && name.length() > 3 && name.startsWith("set");
+    }
+
+    private static boolean isBoolean(Type type) {
+        return type.kind() == Type.Kind.PRIMITIVE
+                ? type.asPrimitiveType().primitive() == PrimitiveType.Primitive.BOOLEAN
+                : BOOLEAN.equals(type.name());
+    }
+
+    private void visit(Type type) {
+        switch (type.kind()) {
+            case CLASS -> visitClass(type.name());
+            case PARAMETERIZED_TYPE -> {
+                visitClass(type.name());
+                type.asParameterizedType().arguments().forEach(this::visit);
+            }
+            case ARRAY -> visit(type.asArrayType().constituent());
+            case WILDCARD_TYPE -> {
+                visit(type.asWildcardType().extendsBound());
+                if (type.asWildcardType().superBound() != null) {
+                    visit(type.asWildcardType().superBound());
+                }
+            }
+            case TYPE_VARIABLE -> type.asTypeVariable().bounds().forEach(this::visit);
+            default -> {}
+        }
+    }
+
+    private void visitTypeArguments(Type type) {
+        if (type != null && type.kind() == Type.Kind.PARAMETERIZED_TYPE) {
+            type.asParameterizedType().arguments().forEach(this::visit);
+        }
+    }
+
+    private void visitClass(DotName name) {
+        String className = name.toString();
+        if (EXCLUDED_PACKAGES.stream().anyMatch(className::startsWith) || !visited.add(name)) {
+            return;
+        }
+        ClassInfo classInfo = index.getClassByName(name);
+        if (classInfo == null) {
+            return;
+        }
+        types.add(classInfo);
+        for (FieldInfo field : classInfo.fields()) {
+            if (!Modifier.isStatic(field.flags()) && !Modifier.isTransient(field.flags())) {
+                visit(field.type());
+            }
+        }
+        for (MethodInfo method : classInfo.methods()) {
+            if (isAccessor(method)) {
+                visit(method.returnType());
+                method.parameterTypes().forEach(this::visit);
+            }
+        }
+        if (classInfo.superClassType() != null) {
+            visit(classInfo.superClassType());
+        }
+        classInfo.interfaceTypes().forEach(this::visit);
+        AnnotationInstance subTypes = classInfo.declaredAnnotation(JSON_SUB_TYPES);
+        if (subTypes != null && subTypes.value() != null) {
+            for (AnnotationValue subType : subTypes.value().asArrayList()) {
+                visitClass(subType.asNested().value().asClass().name());
+            }
+        }
+        if (classInfo.hasDeclaredAnnotation(JSON_TYPE_INFO)) {
+            index.getAllKnownSubclasses(name).forEach(subclass -> visitClass(subclass.name()));
+            index.getAllKnownImplementors(name).forEach(implementor -> visitClass(implementor.name()));
+        }
+    }
+}
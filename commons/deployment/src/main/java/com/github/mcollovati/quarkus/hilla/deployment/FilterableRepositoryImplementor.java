@@ -49,8 +49,9 @@ import static io.quarkus.gizmo.FieldDescriptor.of;
 /**
  * Generates runtime implementation of FilterableRepository methods.
  * <p>
- * The generated {@code list} and {@code count} methods delegate the call to {@link FilterableRepositorySupport},
- * with the addition of the Class of the entity that the repository is supposed to handle.
+ * The generated {@code list}, {@code count} and {@code countUpTo} methods delegate the call to
+ * {@link FilterableRepositorySupport}, with the addition of the Class of the entity that the repository is supposed
+ * to handle.
  * <p>
  * For Panache, an addition {@code isNew} method is generated. This method reads the value of the entity {@code @Id}
  * to determine if the entity is new or not.
@@ -107,6 +108,25 @@ public class FilterableRepositoryImplementor implements BiFunction<String, Class
                     countCreator.loadClass(entityType.toString())));
         }
 
+        MethodInfo countUpToMethod = repository.method(
+                "countUpTo",
+                Type.create(DotName.createSimple(Filter.class), Type.Kind.CLASS),
+                PrimitiveType.INT);
+        if (countUpToMethod == null) {
+            MethodCreator countUpToCreator = transformer.addMethod("countUpTo", long.class, Filter.class, int.class);
+            countUpToCreator.returnValue(countUpToCreator.invokeStaticMethod(
+                    MethodDescriptor.ofMethod(
+                            FilterableRepositorySupport.class.getName(),
+                            "countUpTo",
+                            long.class.getName(),
+                            Filter.class.getName(),
+                            int.class.getName(),
+                            Class.class.getName()),
+                    countUpToCreator.getMethodParam(0),
+                    countUpToCreator.getMethodParam(1),
+                    countUpToCreator.loadClass(entityType.toString())));
+        }
+
         MethodInfo listMethod = repository.method(
                 "list",
                 Type.create(SPRING_PAGEABLE, Type.Kind.CLASS),
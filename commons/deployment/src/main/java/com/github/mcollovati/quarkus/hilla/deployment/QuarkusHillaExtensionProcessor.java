@@ -15,6 +15,7 @@
  */
 package com.github.mcollovati.quarkus.hilla.deployment;
 
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -42,6 +43,7 @@ import io.quarkus.arc.deployment.UnremovableBeanBuildItem;
 import io.quarkus.arc.processor.BuiltinScope;
 import io.quarkus.arc.processor.DotNames;
 import io.quarkus.deployment.ApplicationArchive;
+import io.quarkus.deployment.GeneratedClassGizmoAdaptor;
 import io.quarkus.deployment.IsDevelopment;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
@@ -54,14 +56,19 @@ import io.quarkus.deployment.builditem.BytecodeTransformerBuildItem;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.ExcludeDependencyBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
 import io.quarkus.deployment.builditem.GeneratedResourceBuildItem;
 import io.quarkus.deployment.builditem.LiveReloadBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.pkg.NativeConfig;
 import io.quarkus.deployment.pkg.builditem.CurateOutcomeBuildItem;
+import io.quarkus.runtime.configuration.ConfigurationException;
 import io.quarkus.undertow.deployment.IgnoredServletContainerInitializerBuildItem;
 import io.quarkus.undertow.deployment.ServletBuildItem;
+import io.quarkus.undertow.deployment.ServletContextPathBuildItem;
 import io.quarkus.vertx.http.deployment.BodyHandlerBuildItem;
 import io.quarkus.vertx.http.deployment.FilterBuildItem;
+import io.quarkus.vertx.http.deployment.HttpRootPathBuildItem;
 import org.atmosphere.client.TrackMessageSizeInterceptor;
 import org.atmosphere.cpr.ApplicationConfig;
 import org.atmosphere.interceptor.AtmosphereResourceLifecycleInterceptor;
@@ -76,13 +83,19 @@ import org.jboss.jandex.IndexView;
 import com.github.mcollovati.quarkus.hilla.BodyHandlerRecorder;
 import com.github.mcollovati.quarkus.hilla.CopilotApplicationMetadata;
 import com.github.mcollovati.quarkus.hilla.CopilotConfiguration;
+import com.github.mcollovati.quarkus.hilla.EndpointBeansRecorder;
+import com.github.mcollovati.quarkus.hilla.EndpointInvokerRecorder;
 import com.github.mcollovati.quarkus.hilla.HillaAtmosphereObjectFactory;
 import com.github.mcollovati.quarkus.hilla.HillaConfiguration;
 import com.github.mcollovati.quarkus.hilla.NonNullApi;
+import com.github.mcollovati.quarkus.hilla.PushBatchingInterceptor;
+import com.github.mcollovati.quarkus.hilla.PushExecutor;
 import com.github.mcollovati.quarkus.hilla.QuarkusAtmosphereServlet;
 import com.github.mcollovati.quarkus.hilla.QuarkusEndpointConfiguration;
 import com.github.mcollovati.quarkus.hilla.QuarkusEndpointController;
 import com.github.mcollovati.quarkus.hilla.QuarkusEndpointProperties;
+import com.github.mcollovati.quarkus.hilla.VertxPushRecorder;
+import com.github.mcollovati.quarkus.hilla.crud.FilterableRepositoryCaches;
 import com.github.mcollovati.quarkus.hilla.crud.FilterableRepositorySupport;
 import com.github.mcollovati.quarkus.hilla.deployment.asm.OffendingMethodCallsReplacer;
 import com.github.mcollovati.quarkus.hilla.graal.DelayedInitBroadcaster;
@@ -161,7 +174,15 @@ class QuarkusHillaExtensionProcessor {
     void setupCrudAndListServiceSupport(
             DataRepositorySupportBuiltItem supportedProviders,
             BuildProducer<ExcludeDependencyBuildItem> producer,
-            BuildProducer<AdditionalIndexedClassesBuildItem> additionalClasses) {
+            BuildProducer<AdditionalIndexedClassesBuildItem> additionalClasses,
+            BuildProducer<AdditionalBeanBuildItem> beans) {
+        if (supportedProviders.isPresent(SPRING_DATA) || supportedProviders.isPresent(PANACHE)) {
+            beans.produce(AdditionalBeanBuildItem.builder()
+                    .addBeanClasses(FilterableRepositoryCaches.class)
+                    .setDefaultScope(BuiltinScope.SINGLETON.getName())
+                    .setUnremovable()
+                    .build());
+        }
         if (supportedProviders.isPresent(SPRING_DATA)) {
             producer.produce(new ExcludeDependencyBuildItem("com.github.mcollovati", "hilla-shaded-deps"));
             additionalClasses.produce(new AdditionalIndexedClassesBuildItem(
@@ -212,6 +233,44 @@ class QuarkusHillaExtensionProcessor {
         });
     }
 
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    void registerEndpointClasses(CombinedIndexBuildItem index, EndpointBeansRecorder recorder) {
+        Map<String, List<String>> endpointClasses = new HashMap<>();
+        for (Class<?> annotation : List.of(Endpoint.class, BrowserCallable.class)) {
+            endpointClasses.put(
+                    annotation.getName(),
+                    index.getIndex().getAnnotations(annotation).stream()
+                            .map(AnnotationInstance::target)
+                            .filter(target -> target.kind() == AnnotationTarget.Kind.CLASS)
+                            .map(target -> target.asClass().name().toString())
+                            .distinct()
+                            .toList());
+        }
+        recorder.registerEndpointClasses(endpointClasses);
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    EndpointInvokersBuildItem generateEndpointInvokers(
+            CombinedIndexBuildItem index,
+            EndpointInvokerRecorder recorder,
+            BuildProducer<GeneratedClassBuildItem> generatedClasses,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClass) {
+        EndpointInvokerGenerator generator = new EndpointInvokerGenerator(
+                        index.getIndex(), new GeneratedClassGizmoAdaptor(generatedClasses, true))
+                .generate();
+        Map<String, String> invokers = generator.getInvokers();
+        if (!invokers.isEmpty()) {
+            recorder.registerInvokers(invokers);
+            reflectiveClass.produce(ReflectiveClassBuildItem.builder(
+                            invokers.values().toArray(String[]::new))
+                    .constructors()
+                    .build());
+        }
+        return new EndpointInvokersBuildItem(generator.getCoveredClasses());
+    }
+
     // In hybrid environment sometimes the requests hangs while reading body, causing the UI to freeze until read
     // timeout is reached.
     // Requiring the installation of vert.x body handler seems to fix the issue.
@@ -308,13 +367,11 @@ class QuarkusHillaExtensionProcessor {
     void registerHillaPushServlet(
             BuildProducer<ServletBuildItem> servletProducer,
             QuarkusEndpointConfiguration endpointConfiguration,
+            HillaConfiguration hillaConfiguration,
             NativeConfig nativeConfig) {
         ServletBuildItem.Builder builder = ServletBuildItem.builder(
                 QuarkusAtmosphereServlet.class.getName(), QuarkusAtmosphereServlet.class.getName());
-        String prefix = endpointConfiguration.isDefaultEndpointPrefix()
-                ? ""
-                : endpointConfiguration.getNormalizedEndpointPrefix();
-        String hillaPushMapping = prefix + "/HILLA/push";
+        String hillaPushMapping = hillaPushMapping(endpointConfiguration);
 
         builder.addMapping(hillaPushMapping)
                 .setAsyncSupported(true)
@@ -322,20 +379,80 @@ class QuarkusHillaExtensionProcessor {
                 .addInitParam(ApplicationConfig.ATMOSPHERE_HANDLER, PushEndpoint.class.getName())
                 .addInitParam(ApplicationConfig.OBJECT_FACTORY, HillaAtmosphereObjectFactory.class.getName())
                 .addInitParam(ApplicationConfig.ANALYTICS, "false")
-                .addInitParam(
-                        ApplicationConfig.ATMOSPHERE_INTERCEPTORS,
-                        AtmosphereResourceLifecycleInterceptor.class.getName()
-                                + ","
-                                + TrackMessageSizeInterceptor.class.getName()
-                                + ","
-                                + SuspendTrackerInterceptor.class.getName())
                 .setLoadOnStartup(1);
+        String interceptors = AtmosphereResourceLifecycleInterceptor.class.getName()
+                + ","
+                + TrackMessageSizeInterceptor.class.getName()
+                + ","
+                + SuspendTrackerInterceptor.class.getName();
+        HillaConfiguration.PushConfig pushConfig = hillaConfiguration.push();
+        if (pushConfig.batch().maxItems() > 1) {
+            interceptors += "," + PushBatchingInterceptor.class.getName();
+            builder.addInitParam(PushBatchingInterceptor.MAX_ITEMS, String.valueOf(pushConfig.batch().maxItems()));
+            builder.addInitParam(
+                    PushBatchingInterceptor.MAX_DELAY_MILLIS,
+                    String.valueOf(pushConfig.batch().maxDelay().toMillis()));
+        }
+        builder.addInitParam(ApplicationConfig.ATMOSPHERE_INTERCEPTORS, interceptors);
+        if (pushConfig.executor() != HillaConfiguration.PushConfig.ExecutorType.ATMOSPHERE) {
+            if (pushConfig.maxThreads().isPresent()) {
+                // broadcasters keep tasks running for their whole life, a
+                // limit on virtual threads would stop message delivery
+                throw new ConfigurationException(
+                        "vaadin.hilla.push.max-threads only applies to the atmosphere push executor, "
+                                + "virtual threads are not pooled",
+                        Set.of("vaadin.hilla.push.max-threads", "vaadin.hilla.push.executor"));
+            }
+            builder.addInitParam(PushExecutor.EXECUTOR, pushConfig.executor().name());
+            builder.addInitParam(ApplicationConfig.BROADCASTER_SHARABLE_THREAD_POOLS, "true");
+        } else if (pushConfig.maxThreads().isPresent()) {
+            int maxThreads = pushConfig.maxThreads().getAsInt();
+            if (maxThreads < 2) {
+                throw new ConfigurationException(
+                        "vaadin.hilla.push.max-threads must be at least 2, but was " + maxThreads,
+                        Set.of("vaadin.hilla.push.max-threads"));
+            }
+            String poolSize = String.valueOf(maxThreads);
+            builder.addInitParam(ApplicationConfig.BROADCASTER_MESSAGE_PROCESSING_THREADPOOL_MAXSIZE, poolSize);
+            builder.addInitParam(ApplicationConfig.BROADCASTER_ASYNC_WRITE_THREADPOOL_MAXSIZE, poolSize);
+        }
         if (nativeConfig.enabled()) {
             builder.addInitParam(ApplicationConfig.BROADCASTER_CLASS, DelayedInitBroadcaster.class.getName());
         }
         servletProducer.produce(builder.build());
     }
 
+    // Runs after the authorization filter, so that push connections are
+    // subject to the same HTTP security policies as the Atmosphere servlet
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void installVertxPushHandler(
+            VertxPushRecorder recorder,
+            QuarkusEndpointConfiguration endpointConfiguration,
+            HillaConfiguration hillaConfiguration,
+            HttpRootPathBuildItem httpRootPath,
+            ServletContextPathBuildItem servletContextPath,
+            BuildProducer<FilterBuildItem> producer) {
+        if (hillaConfiguration.push().vertxWebsocket()) {
+            // filters see the whole request path, including the HTTP root
+            // path and the servlet context path
+            String contextPath = httpRootPath.resolvePath(servletContextPath.getServletContextPath());
+            if (contextPath.endsWith("/")) {
+                contextPath = contextPath.substring(0, contextPath.length() - 1);
+            }
+            producer.produce(new FilterBuildItem(
+                    recorder.pushHandler(contextPath + hillaPushMapping(endpointConfiguration)),
+                    FilterBuildItem.AUTHORIZATION - 10));
+        }
+    }
+
+    private static String hillaPushMapping(QuarkusEndpointConfiguration endpointConfiguration) {
+        String prefix = endpointConfiguration.isDefaultEndpointPrefix()
+                ? ""
+                : endpointConfiguration.getNormalizedEndpointPrefix();
+        return prefix + "/HILLA/push";
+    }
+
     @BuildStep(onlyIf = IsDevelopment.class)
     void generateCopilotApplicationMetadata(
             ApplicationArchivesBuildItem applicationArchives,
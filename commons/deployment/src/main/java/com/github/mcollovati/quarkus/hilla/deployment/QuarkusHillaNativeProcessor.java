@@ -17,6 +17,8 @@ package com.github.mcollovati.quarkus.hilla.deployment;
 
 import jakarta.inject.Inject;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
@@ -64,6 +66,7 @@ import io.quarkus.deployment.builditem.GeneratedNativeImageClassBuildItem;
 import io.quarkus.deployment.builditem.RemovedResourceBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.NativeImageResourcePatternsBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.ReflectiveMethodBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.RuntimeInitializedPackageBuildItem;
 import io.quarkus.deployment.pkg.NativeConfig;
 import io.quarkus.gizmo.ClassCreator;
@@ -105,6 +108,7 @@ import org.jboss.jandex.IndexView;
 import org.objectweb.asm.Opcodes;
 import org.springframework.data.domain.Pageable;
 
+import com.github.mcollovati.quarkus.hilla.PushBatchingInterceptor;
 import com.github.mcollovati.quarkus.hilla.graal.AtmosphereDeferredInitializerRecorder;
 import com.github.mcollovati.quarkus.hilla.graal.DelayedSchedulerExecutorsFactory;
 
@@ -217,8 +221,10 @@ public class QuarkusHillaNativeProcessor {
     void hillaNativeSupport(
             DataRepositorySupportBuiltItem supportedDataProviders,
             CombinedIndexBuildItem combinedIndex,
+            EndpointInvokersBuildItem endpointInvokers,
             BuildProducer<NativeImageResourcePatternsBuildItem> nativeImageResource,
-            BuildProducer<ReflectiveClassBuildItem> reflectiveClass) {
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
+            BuildProducer<ReflectiveMethodBuildItem> reflectiveMethod) {
 
         nativeImageResource.produce(NativeImageResourcePatternsBuildItem.builder()
                 .includeGlobs("hilla-openapi.json", "hilla-engine-configuration.json", "file-routes.json")
@@ -236,10 +242,10 @@ public class QuarkusHillaNativeProcessor {
         classes.add(index.getClassByName(PushEndpoint.class));
         classes.add(index.getClassByName(Filter.class));
         classes.add(index.getClassByName(Pageable.class));
+        // polymorphic types may not be reachable from endpoint signatures,
+        // for example signal commands or values deserialized by signals
         classes.addAll(getJsonClasses(index));
         classes.addAll(index.getKnownDirectImplementations(EndpointTransferMapper.Mapper.class));
-        classes.addAll(index.getClassesInPackage("com.vaadin.hilla.mappedtypes"));
-        classes.addAll(index.getClassesInPackage("com.vaadin.hilla.runtime.transfertypes"));
 
         if (supportedDataProviders.isPresent(DataRepositorySupportBuiltItem.Provider.SPRING_DATA)) {
             classes.add(index.getClassByName("org.springframework.data.repository.Repository"));
@@ -265,13 +271,62 @@ public class QuarkusHillaNativeProcessor {
                     .build());
         }
 
-        reflectiveClass.produce(ReflectiveClassBuildItem.builder(classes.stream()
-                        .filter(Objects::nonNull)
-                        .map(classInfo -> classInfo.name().toString())
-                        .toArray(String[]::new))
+        EndpointTypesCollector endpointTypes = new EndpointTypesCollector(index);
+        Stream.of(BrowserCallable.class, Endpoint.class, EndpointExposed.class)
+                .flatMap(annotation -> getAnnotatedClasses(index, DotName.createSimple(annotation)).stream())
+                .forEach(endpointTypes::addEndpoint);
+        Stream.of("com.vaadin.hilla.mappedtypes", "com.vaadin.hilla.runtime.transfertypes")
+                .flatMap(packageName -> index.getClassesInPackage(packageName).stream())
+                .forEach(endpointTypes::addType);
+        Set<DotName> registeredClasses =
+                classes.stream().filter(Objects::nonNull).map(ClassInfo::name).collect(Collectors.toSet());
+        endpointTypes.getTypes().stream()
+                .filter(classInfo -> !registeredClasses.contains(classInfo.name()))
+                .forEach(classInfo -> registerJsonType(classInfo, reflectiveClass, reflectiveMethod));
+
+        // methods of classes fully covered by generated invokers are only
+        // looked up by Hilla, never invoked reflectively
+        Map<Boolean, List<String>> classNames = classes.stream()
+                .filter(Objects::nonNull)
+                .map(classInfo -> classInfo.name().toString())
+                .collect(Collectors.partitioningBy(endpointInvokers::isCovered));
+        reflectiveClass.produce(ReflectiveClassBuildItem.builder(
+                        classNames.get(false).toArray(String[]::new))
                 .constructors()
                 .methods()
                 .build());
+        if (!classNames.get(true).isEmpty()) {
+            reflectiveClass.produce(ReflectiveClassBuildItem.builder(
+                            classNames.get(true).toArray(String[]::new))
+                    .constructors()
+                    .queryMethods()
+                    .build());
+        }
+    }
+
+    /**
+     * Registers what Jackson needs to serialize and deserialize the given type: constructors, fields and property
+     * accessors. Records and enums are registered entirely.
+     */
+    private static void registerJsonType(
+            ClassInfo classInfo,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
+            BuildProducer<ReflectiveMethodBuildItem> reflectiveMethod) {
+        String className = classInfo.name().toString();
+        if (classInfo.isRecord() || classInfo.isEnum()) {
+            reflectiveClass.produce(ReflectiveClassBuildItem.builder(className)
+                    .constructors()
+                    .methods()
+                    .fields()
+                    .build());
+            return;
+        }
+        reflectiveClass.produce(
+                ReflectiveClassBuildItem.builder(className).constructors().fields().build());
+        classInfo.methods().stream()
+                .filter(EndpointTypesCollector::isAccessor)
+                .forEach(method -> reflectiveMethod.produce(
+                        new ReflectiveMethodBuildItem(QuarkusHillaNativeProcessor.class.getName(), method)));
     }
 
     private Set<ClassInfo> getJsonClasses(IndexView index) {
@@ -399,6 +454,7 @@ public class QuarkusHillaNativeProcessor {
                         AtmosphereResourceLifecycleInterceptor.class,
                         TrackMessageSizeInterceptor.class,
                         SuspendTrackerInterceptor.class,
+                        PushBatchingInterceptor.class,
                         DefaultBroadcasterFactory.class,
                         SimpleBroadcaster.class,
                         DefaultBroadcaster.class,
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.LabelNode;
 import org.objectweb.asm.tree.MethodInsnNode;
@@ -72,6 +73,10 @@ class MethodRedirectNode extends MethodNode {
     }
 
     private void redirect(MethodInsnNode methodInsnNode, MethodSignature targetMethod) {
+        if (targetMethod.isReceiverAsArgument()) {
+            methodInsnNode.setOpcode(Opcodes.INVOKESTATIC);
+            methodInsnNode.itf = false;
+        }
         methodInsnNode.owner = targetMethod.getOwner();
         methodInsnNode.name = targetMethod.getName();
         if (targetMethod.getDescriptor() != null) methodInsnNode.desc = targetMethod.getDescriptor();
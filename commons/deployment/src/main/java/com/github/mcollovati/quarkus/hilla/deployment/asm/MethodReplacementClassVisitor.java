@@ -16,6 +16,7 @@
 package com.github.mcollovati.quarkus.hilla.deployment.asm;
 
 import java.util.Map;
+import java.util.function.BiPredicate;
 
 import io.quarkus.gizmo.Gizmo;
 import org.objectweb.asm.ClassVisitor;
@@ -23,7 +24,7 @@ import org.objectweb.asm.MethodVisitor;
 
 public class MethodReplacementClassVisitor extends ClassVisitor {
 
-    private final String methodName;
+    private final BiPredicate<String, String> methodFilter;
     private final Map<MethodSignature, MethodSignature> replacements;
 
     /**
@@ -32,8 +33,19 @@ public class MethodReplacementClassVisitor extends ClassVisitor {
      */
     public MethodReplacementClassVisitor(
             ClassVisitor classVisitor, String methodName, Map<MethodSignature, MethodSignature> replacements) {
+        this(classVisitor, (name, descriptor) -> methodName.equals(name), replacements);
+    }
+
+    /**
+     * @param classVisitor the "super" ClassVisitor
+     * @param methodFilter tests the name and descriptor of the methods in which to search for replacements
+     */
+    public MethodReplacementClassVisitor(
+            ClassVisitor classVisitor,
+            BiPredicate<String, String> methodFilter,
+            Map<MethodSignature, MethodSignature> replacements) {
         super(Gizmo.ASM_API_VERSION, classVisitor);
-        this.methodName = methodName;
+        this.methodFilter = methodFilter;
         this.replacements = replacements;
     }
 
@@ -41,7 +53,7 @@ public class MethodReplacementClassVisitor extends ClassVisitor {
     public MethodVisitor visitMethod(
             int access, String name, String descriptor, String signature, String[] exceptions) {
         MethodVisitor superVisitor = super.visitMethod(access, name, descriptor, signature, exceptions);
-        if (methodName.equals(name)) {
+        if (methodFilter.test(name, descriptor)) {
             return new MethodRedirectNode(
                     api, access, name, descriptor, signature, exceptions, superVisitor, replacements);
         }
@@ -24,11 +24,18 @@ public class MethodSignature {
     private final String methodOwner;
     private final String methodName;
     private final String methodDescriptor;
+    private final boolean receiverAsArgument;
 
     public MethodSignature(String methodOwner, String methodName, String methodDescriptor) {
+        this(methodOwner, methodName, methodDescriptor, false);
+    }
+
+    private MethodSignature(
+            String methodOwner, String methodName, String methodDescriptor, boolean receiverAsArgument) {
         this.methodOwner = methodOwner;
         this.methodName = methodName;
         this.methodDescriptor = methodDescriptor;
+        this.receiverAsArgument = receiverAsArgument;
     }
 
     public String getOwner() {
@@ -43,6 +50,24 @@ public class MethodSignature {
         return methodDescriptor;
     }
 
+    /**
+     * @return {@literal true} if this is a static method replacing an instance method call, that gets the instance as
+     *         first argument
+     */
+    public boolean isReceiverAsArgument() {
+        return receiverAsArgument;
+    }
+
+    /**
+     * Gets this signature as the replacement of an instance method call. The replacement must be a static method
+     * taking the instance as first argument, followed by the arguments of the replaced method.
+     *
+     * @return a copy of this signature, redirecting instance calls
+     */
+    public MethodSignature withReceiverAsArgument() {
+        return new MethodSignature(methodOwner, methodName, methodDescriptor, true);
+    }
+
     public static MethodSignature of(Class<?> methodOwner, String methodName) {
         return of(methodOwner.getName().replace('.', '/'), methodName);
     }
@@ -66,11 +91,12 @@ public class MethodSignature {
         MethodSignature that = (MethodSignature) o;
         return Objects.equals(methodOwner, that.methodOwner)
                 && Objects.equals(methodName, that.methodName)
-                && Objects.equals(methodDescriptor, that.methodDescriptor);
+                && Objects.equals(methodDescriptor, that.methodDescriptor)
+                && receiverAsArgument == that.receiverAsArgument;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(methodOwner, methodName, methodDescriptor);
+        return Objects.hash(methodOwner, methodName, methodDescriptor, receiverAsArgument);
     }
 }
@@ -17,6 +17,7 @@ package com.github.mcollovati.quarkus.hilla.deployment.asm;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 import com.vaadin.flow.server.VaadinContext;
@@ -27,6 +28,7 @@ import com.vaadin.hilla.EndpointUtil;
 import com.vaadin.hilla.Hotswapper;
 import com.vaadin.hilla.push.PushEndpoint;
 import com.vaadin.hilla.push.PushMessageHandler;
+import com.vaadin.hilla.signals.internal.InternalSignal;
 import com.vaadin.hilla.signals.internal.SecureSignalsRegistry;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.builditem.BytecodeTransformerBuildItem;
@@ -84,6 +86,31 @@ public class OffendingMethodCallsReplacer {
                     MethodSignature.of(EndpointInvoker.class, "createDefaultEndpointMapper"),
                     MethodSignature.of(SpringReplacements.class, "endpointInvoker_createDefaultEndpointMapper"));
 
+    private static final Map.Entry<MethodSignature, MethodSignature> Method_invoke = Map.entry(
+            MethodSignature.of(
+                    "java/lang/reflect/Method", "invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;"),
+            MethodSignature.of(
+                    HillaReplacements.class,
+                    "endpointInvoker_invoke",
+                    "(Ljava/lang/reflect/Method;Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
+                    .withReceiverAsArgument());
+    private static final Map.Entry<MethodSignature, MethodSignature> ObjectMapper_valueToTree = Map.entry(
+            MethodSignature.of(
+                    "tools/jackson/databind/ObjectMapper",
+                    "valueToTree",
+                    "(Ljava/lang/Object;)Ltools/jackson/databind/JsonNode;"),
+            MethodSignature.of(
+                    HillaReplacements.class,
+                    "internalSignal_valueToTree",
+                    "(Ltools/jackson/databind/ObjectMapper;Ljava/lang/Object;)Ltools/jackson/databind/JsonNode;")
+                    .withReceiverAsArgument());
+
+    // the lambda sending the snapshot to a new subscriber of InternalSignal.subscribe(String)
+    private static final String InternalSignal_subscribeLambda_descriptor =
+            "(Ljava/lang/String;Lreactor/core/publisher/Sinks$Many;Lorg/reactivestreams/Subscription;)V";
+    private static final BiPredicate<String, String> InternalSignal_subscribeLambda = (name, descriptor) ->
+            name.startsWith("lambda$subscribe$") && descriptor.equals(InternalSignal_subscribeLambda_descriptor);
+
     public static void addClassVisitorsDevMode(BuildProducer<BytecodeTransformerBuildItem> producer) {
         producer.produce(transform(Hotswapper.class, "affectsEndpoints", Class_forName));
     }
@@ -98,7 +125,8 @@ public class OffendingMethodCallsReplacer {
         producer.produce(transform(EndpointRegistry.class, "registerEndpoint", ClassUtils_getUserClass));
         producer.produce(transform(EndpointUtil.class, "isAnonymousEndpoint", ClassUtils_getUserClass));
         producer.produce(transform(EndpointInvoker.class, "checkAccess", ClassUtils_getUserClass));
-        producer.produce(transform(EndpointInvoker.class, "invokeVaadinEndpointMethod", ClassUtils_getUserClass));
+        producer.produce(transform(
+                EndpointInvoker.class, "invokeVaadinEndpointMethod", ClassUtils_getUserClass, Method_invoke));
         producer.produce(transform(EndpointInvoker.class, "<init>", EndpointInvoker_createDefaultEndpointMapper));
         producer.produce(transform(
                 SecureSignalsRegistry.class,
@@ -110,6 +138,10 @@ public class OffendingMethodCallsReplacer {
                 "checkAccess",
                 AuthenticationUtil_getSecurityHolderAuthentication,
                 AuthenticationUtil_getSecurityHolderRoleChecker));
+        producer.produce(new BytecodeTransformerBuildItem(
+                InternalSignal.class.getName(),
+                (s, classVisitor) -> new MethodReplacementClassVisitor(
+                        classVisitor, InternalSignal_subscribeLambda, Map.ofEntries(ObjectMapper_valueToTree))));
         producer.produce(transform(
                 PushMessageHandler.class,
                 "handleBrowserSubscribe",
@@ -31,6 +31,7 @@ import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import com.github.mcollovati.quarkus.hilla.EndpointMethodInvokers;
 import com.github.mcollovati.quarkus.hilla.deployment.endpoints.Pojo;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -66,6 +67,47 @@ abstract class AbstractEndpointControllerTest {
                 .body("text", equalTo(msg + msg));
     }
 
+    @Test
+    void invokeEndpoint_uniResult() {
+        String msg = "A text message";
+        givenEndpointRequest(
+                        getEndpointPrefix(), getEndpointName(), "echoUni", TestUtils.Parameters.param("message", msg))
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(equalTo("\"" + msg + "\""));
+    }
+
+    @Test
+    void invokeEndpoint_completionStageResult() {
+        String msg = "A text message";
+        Pojo pojo = new Pojo(10, msg);
+        givenEndpointRequest(
+                        getEndpointPrefix(), getEndpointName(), "pojoAsync", TestUtils.Parameters.param("pojo", pojo))
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body("number", equalTo(100))
+                .and()
+                .body("text", equalTo(msg + msg));
+    }
+
+    @Test
+    void invokeEndpoint_failedUniResult_badRequest() {
+        givenEndpointRequest(
+                        getEndpointPrefix(),
+                        getEndpointName(),
+                        "failingUni",
+                        TestUtils.Parameters.param("message", "Async failure"))
+                .then()
+                .assertThat()
+                .statusCode(400)
+                .and()
+                .body("message", equalTo("Async failure"));
+    }
+
     @Test
     void invokeEndpoint_multipleParameters() {
         givenEndpointRequest(
@@ -80,6 +122,22 @@ abstract class AbstractEndpointControllerTest {
                 .body(equalTo("30"));
     }
 
+    @Test
+    void invokeEndpoint_generatedInvoker() {
+        long directCalls = EndpointMethodInvokers.getDirectCallCount();
+        givenEndpointRequest(
+                        getEndpointPrefix(),
+                        getEndpointName(),
+                        "calculate",
+                        TestUtils.Parameters.param("operator", "*").add("a", 6).add("b", 7))
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(equalTo("42"));
+        Assertions.assertThat(EndpointMethodInvokers.getDirectCallCount()).isGreaterThan(directCalls);
+    }
+
     @Test
     @Disabled("Order does not matter anymore")
     void invokeEndpoint_wrongParametersOrder_badRequest() {
@@ -169,6 +227,36 @@ abstract class AbstractEndpointControllerTest {
                 .statusCode(404);
     }
 
+    @Test
+    void invokeEndpoint_malformedBody_badRequest() {
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .cookie("csrfToken", "CSRF_TOKEN")
+                .header("X-CSRF-Token", "CSRF_TOKEN")
+                .body("{\"message\": ")
+                .basePath(getEndpointPrefix())
+                .when()
+                .post("{endpointName}/{methodName}", getEndpointName(), "echo")
+                .then()
+                .assertThat()
+                .statusCode(400);
+    }
+
+    @Test
+    void invokeEndpoint_nonObjectBody_badRequest() {
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .cookie("csrfToken", "CSRF_TOKEN")
+                .header("X-CSRF-Token", "CSRF_TOKEN")
+                .body("[\"hello\"]")
+                .basePath(getEndpointPrefix())
+                .when()
+                .post("{endpointName}/{methodName}", getEndpointName(), "echo")
+                .then()
+                .assertThat()
+                .statusCode(400);
+    }
+
     @Test
     void invokeEndpoint_multipart_fileTransfer() throws IOException {
         Path tempFile = Files.createTempFile("upload", "txt");
@@ -194,6 +282,25 @@ abstract class AbstractEndpointControllerTest {
         Assertions.assertThat(uploadedFile).hasSameTextualContentAs(tempFile);
     }
 
+    @Test
+    void invokeEndpoint_multipart_fileContent() throws IOException {
+        Path tempFile = Files.createTempFile("upload", "txt");
+        Files.writeString(tempFile, "hello world");
+        RestAssured.given()
+                .contentType(ContentType.MULTIPART)
+                .multiPart("/file", tempFile.toFile())
+                .multiPart(EndpointController.BODY_PART_NAME, "{}")
+                .cookie("csrfToken", "CSRF_TOKEN")
+                .header("X-CSRF-Token", "CSRF_TOKEN")
+                .basePath(getEndpointPrefix())
+                .when()
+                .post("UploadEndpoint/content")
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .body(equalTo("\"hello world\""));
+    }
+
     protected String getEndpointPrefix() {
         return TestUtils.DEFAULT_PREFIX;
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.vaadin.hilla.BrowserCallable;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.Test;
+
+import com.github.mcollovati.quarkus.hilla.EndpointMethodInvokers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointInvokerGeneratorTest {
+
+    @Test
+    void generate_accessibleMethods_classCovered() throws IOException {
+        EndpointInvokerGenerator generator = generate(PublicEndpoint.class);
+
+        assertThat(generator.getInvokers())
+                .containsOnlyKeys(key(PublicEndpoint.class, "greet", String.class), key(PublicEndpoint.class, "count"));
+        assertThat(generator.getCoveredClasses()).containsExactly(PublicEndpoint.class.getName());
+    }
+
+    @Test
+    void generate_mixedMethods_accessibleOnesGeneratedAndClassNotCovered() throws IOException {
+        EndpointInvokerGenerator generator = generate(MixedEndpoint.class, Hidden.class);
+
+        assertThat(generator.getInvokers())
+                .containsOnlyKeys(key(MixedEndpoint.class, "greet", String.class), key(MixedEndpoint.class, "count"));
+        assertThat(generator.getCoveredClasses()).isEmpty();
+    }
+
+    @Test
+    void generate_nonPublicClass_nothingGenerated() throws IOException {
+        EndpointInvokerGenerator generator = generate(PackagePrivateEndpoint.class);
+
+        assertThat(generator.getInvokers()).isEmpty();
+        assertThat(generator.getCoveredClasses()).isEmpty();
+    }
+
+    private static EndpointInvokerGenerator generate(Class<?>... classes) throws IOException {
+        return new EndpointInvokerGenerator(Index.of(classes), (name, data) -> {}).generate();
+    }
+
+    private static String key(Class<?> endpoint, String method, Class<?>... parameterTypes) {
+        return EndpointMethodInvokers.key(
+                endpoint.getName(),
+                method,
+                Arrays.stream(parameterTypes).map(Class::getName).toList());
+    }
+
+    @BrowserCallable
+    public static class PublicEndpoint {
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        public int count() {
+            return 1;
+        }
+    }
+
+    @BrowserCallable
+    public static class MixedEndpoint {
+        // declared first, so that later methods are checked after an inaccessible one
+        public String array(String[] names) {
+            return String.join(",", names);
+        }
+
+        public String hidden(Hidden hidden) {
+            return "hidden";
+        }
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        public int count() {
+            return 1;
+        }
+    }
+
+    @BrowserCallable
+    static class PackagePrivateEndpoint {
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    static class Hidden {}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.MethodInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointTypesCollectorTest {
+
+    @Test
+    void addEndpoint_signatureTypesCollected() throws IOException {
+        Index index = Index.of(
+                OrderEndpoint.class, Order.class, Address.class, Status.class, Line.class, Unused.class, Item.class);
+        EndpointTypesCollector collector = new EndpointTypesCollector(index);
+
+        collector.addEndpoint(index.getClassByName(OrderEndpoint.class));
+
+        assertThat(names(collector))
+                .containsExactlyInAnyOrder(
+                        Order.class.getName(),
+                        Address.class.getName(),
+                        Status.class.getName(),
+                        Line.class.getName(),
+                        Item.class.getName());
+    }
+
+    @Test
+    void addEndpoint_genericSuperclassArgumentsCollected() throws IOException {
+        Index index = Index.of(ItemService.class, Item.class);
+        EndpointTypesCollector collector = new EndpointTypesCollector(index);
+
+        collector.addEndpoint(index.getClassByName(ItemService.class));
+
+        assertThat(names(collector)).containsExactly(Item.class.getName());
+    }
+
+    @Test
+    void addType_polymorphicSubtypesCollected() throws IOException {
+        Index index = Index.of(Shape.class, Circle.class, Square.class);
+        EndpointTypesCollector collector = new EndpointTypesCollector(index);
+
+        collector.addType(index.getClassByName(Shape.class));
+
+        assertThat(names(collector))
+                .containsExactlyInAnyOrder(Shape.class.getName(), Circle.class.getName(), Square.class.getName());
+    }
+
+    @Test
+    void addType_interfacesCollected() throws IOException {
+        Index index = Index.of(Tag.class, Labelled.class);
+        EndpointTypesCollector collector = new EndpointTypesCollector(index);
+
+        collector.addType(index.getClassByName(Tag.class));
+
+        assertThat(names(collector)).containsExactlyInAnyOrder(Tag.class.getName(), Labelled.class.getName());
+    }
+
+    @Test
+    void isAccessor() throws IOException {
+        ClassInfo order = Index.of(Order.class).getClassByName(Order.class);
+
+        assertThat(order.methods().stream()
+                        .filter(EndpointTypesCollector::isAccessor)
+                        .map(MethodInfo::name))
+                .containsExactlyInAnyOrder("getAddress", "setAddress", "isPaid", "getStatus", "total");
+    }
+
+    private static List<String> names(EndpointTypesCollector collector) {
+        return collector.getTypes().stream()
+                .map(ClassInfo::name)
+                .map(DotName::toString)
+                .toList();
+    }
+
+    public static class OrderEndpoint {
+        public List<Order> orders(Optional<String> customer) {
+            return List.of();
+        }
+
+        public void addLine(Line line) {}
+
+        private Unused hidden() {
+            return null;
+        }
+    }
+
+    public static class Order {
+        private Address address;
+        private transient Unused cache;
+        private boolean paid;
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public boolean isPaid() {
+            return paid;
+        }
+
+        public Status getStatus() {
+            return Status.NEW;
+        }
+
+        @com.fasterxml.jackson.annotation.JsonProperty
+        int total() {
+            return 0;
+        }
+
+        public void recalculate(Unused unused) {}
+    }
+
+    public record Address(String street, String city) {}
+
+    public enum Status {
+        NEW
+    }
+
+    public record Line(Item[] items) {}
+
+    public static class Item {}
+
+    public static class Unused {}
+
+    public static class BaseService<T> {}
+
+    public static class ItemService extends BaseService<Item> {}
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+    @JsonSubTypes({@JsonSubTypes.Type(Circle.class)})
+    public abstract static class Shape {}
+
+    public static class Circle extends Shape {}
+
+    public static class Square extends Shape {}
+
+    public interface Labelled {
+        String getLabel();
+    }
+
+    public record Tag(String label) implements Labelled {
+        @Override
+        public String getLabel() {
+            return label;
+        }
+    }
+}
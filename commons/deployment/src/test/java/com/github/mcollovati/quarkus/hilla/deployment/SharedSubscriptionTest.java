@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Session;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.vaadin.hilla.EndpointInvoker;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import org.hamcrest.Matchers;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.mcollovati.quarkus.hilla.QuarkusEndpointInvoker;
+import com.github.mcollovati.quarkus.hilla.deployment.endpoints.SharedSubscriptionEndpoint;
+
+import static com.github.mcollovati.quarkus.hilla.deployment.TestUtils.givenEndpointRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedSubscriptionTest {
+
+    private static final String ENDPOINT_NAME = SharedSubscriptionEndpoint.class.getSimpleName();
+    private static final Pattern ITEM = Pattern.compile("\"item\":(\\d+)");
+
+    @RegisterExtension
+    static final QuarkusExtensionTest config = new QuarkusExtensionTest()
+            .withConfigurationResource(testResource("test-application.properties"))
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(TestUtils.class, SharedSubscriptionEndpoint.class, HillaPushClient.class));
+
+    @TestHTTPResource("/HILLA/push")
+    URI uri;
+
+    @Inject
+    EndpointInvoker endpointInvoker;
+
+    @Test
+    @ActivateRequestContext
+    void sharedSubscription_sameParameters_singleUpstreamSubscription() throws Exception {
+        String name = UUID.randomUUID().toString();
+        HillaPushClient first = new HillaPushClient(ENDPOINT_NAME, "sharedTicks", name);
+        HillaPushClient second = new HillaPushClient(ENDPOINT_NAME, "sharedTicks", name);
+        try (Session ignored1 = connect(first);
+                Session ignored2 = connect(second)) {
+            assertThatUpdatesReceived(first);
+            assertThatUpdatesReceived(second);
+            assertCount("subscriptionCount", name, 1);
+        }
+        // the upstream is cancelled when the last subscriber disconnects
+        assertCountEventually("cancellationCount", name, 1);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void sharedSubscription_differentParameters_separateUpstreamSubscriptions() throws Exception {
+        String firstName = UUID.randomUUID().toString();
+        String secondName = UUID.randomUUID().toString();
+        HillaPushClient first = new HillaPushClient(ENDPOINT_NAME, "sharedTicks", firstName);
+        HillaPushClient second = new HillaPushClient(ENDPOINT_NAME, "sharedTicks", secondName);
+        try (Session ignored1 = connect(first);
+                Session ignored2 = connect(second)) {
+            assertThatUpdatesReceived(first);
+            assertThatUpdatesReceived(second);
+            assertCount("subscriptionCount", firstName, 1);
+            assertCount("subscriptionCount", secondName, 1);
+        }
+    }
+
+    @Test
+    @ActivateRequestContext
+    void notSharedSubscription_upstreamSubscriptionPerClient() throws Exception {
+        String name = UUID.randomUUID().toString();
+        HillaPushClient first = new HillaPushClient(ENDPOINT_NAME, "ticks", name);
+        HillaPushClient second = new HillaPushClient(ENDPOINT_NAME, "ticks", name);
+        try (Session ignored1 = connect(first);
+                Session ignored2 = connect(second)) {
+            assertThatUpdatesReceived(first);
+            assertThatUpdatesReceived(second);
+            assertCount("subscriptionCount", name, 2);
+        }
+    }
+
+    @Test
+    @ActivateRequestContext
+    void sharedSubscription_slowSubscriber_bufferSizeApplied() throws Exception {
+        HillaPushClient client = new HillaPushClient(ENDPOINT_NAME, "sharedBurst", UUID.randomUUID().toString());
+        List<Integer> items = new ArrayList<>();
+        try (Session ignored = connect(client)) {
+            String message;
+            while ((message = client.pollMessage(10, TimeUnit.SECONDS)) != null
+                    && !message.startsWith("{\"@type\":\"complete\"")) {
+                Matcher matcher = ITEM.matcher(message);
+                if (matcher.find()) {
+                    items.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        // drop-oldest keeps the newest item, the others overflow the
+        // single item buffer while the burst is emitted
+        assertThat(items).isNotEmpty().hasSizeLessThan(SharedSubscriptionEndpoint.BURST_SIZE);
+        assertThat(items).last().isEqualTo(SharedSubscriptionEndpoint.BURST_SIZE - 1);
+        assertThat(((QuarkusEndpointInvoker) endpointInvoker)
+                        .getPushBufferMetrics()
+                        .getDroppedCount(ENDPOINT_NAME, "sharedBurst"))
+                .isPositive();
+    }
+
+    private Session connect(HillaPushClient client) throws Exception {
+        Session session = ContainerProvider.getWebSocketContainer()
+                .connectToServer(client, null, HillaPushClient.createPUSHConnectURI(uri));
+        client.assertMessageReceived(10, TimeUnit.SECONDS, "CONNECT");
+        return session;
+    }
+
+    private static void assertThatUpdatesReceived(HillaPushClient client) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            client.assertMessageReceived(3, TimeUnit.SECONDS, message -> message.startsWith(
+                    "{\"@type\":\"update\",\"id\":\"" + client.id + "\""));
+        }
+    }
+
+    private static void assertCount(String methodName, String name, int expected) {
+        givenEndpointRequest(ENDPOINT_NAME, methodName, TestUtils.Parameters.param("name", name))
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(Matchers.equalTo(Integer.toString(expected)));
+    }
+
+    private static void assertCountEventually(String methodName, String name, int expected)
+            throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String count = givenEndpointRequest(ENDPOINT_NAME, methodName, TestUtils.Parameters.param("name", name))
+                    .asString();
+            if (Integer.toString(expected).equals(count)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        assertCount(methodName, name, expected);
+    }
+
+    private static String testResource(String name) {
+        return SharedSubscriptionTest.class.getPackageName().replace('.', '/') + '/' + name;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Session;
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.test.QuarkusExtensionTest;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.mcollovati.quarkus.hilla.VertxPushHandler;
+import com.github.mcollovati.quarkus.hilla.deployment.endpoints.ReactiveEndpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VertxPushTransportRootPathTest extends AbstractReactiveEndpointTest {
+    private static final String ENDPOINT_NAME = ReactiveEndpoint.class.getSimpleName();
+
+    @RegisterExtension
+    static final QuarkusExtensionTest config = new QuarkusExtensionTest()
+            .withConfigurationResource(testResource("test-application.properties"))
+            .overrideConfigKey("vaadin.hilla.push.vertx-websocket", "true")
+            .overrideConfigKey("quarkus.http.root-path", "/app")
+            .setArchiveProducer(() ->
+                    ShrinkWrap.create(JavaArchive.class).addClasses(ReactiveEndpoint.class, HillaPushClient.class));
+
+    @Override
+    public String getEndpointName() {
+        return ENDPOINT_NAME;
+    }
+
+    @Test
+    void webSocketConnection_underRootPath_servedByVertx() throws Exception {
+        URI connectURI = HillaPushClient.createPUSHConnectURI(uri);
+        HillaPushClient client = new HillaPushClient(ENDPOINT_NAME, "count", UUID.randomUUID().toString());
+        try (Session ignored = ContainerProvider.getWebSocketContainer().connectToServer(client, null, connectURI)) {
+            client.assertMessageReceived(10, TimeUnit.SECONDS, "CONNECT");
+            assertConnectionCount(1);
+        }
+        assertConnectionCount(0);
+    }
+
+    private static void assertConnectionCount(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (VertxPushHandler.getConnectionCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(VertxPushHandler.getConnectionCount()).isEqualTo(expected);
+    }
+
+    private static String testResource(String name) {
+        return VertxPushTransportRootPathTest.class.getPackageName().replace('.', '/') + '/' + name;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment;
+
+import io.quarkus.security.test.utils.TestIdentityController;
+import io.quarkus.security.test.utils.TestIdentityProvider;
+import io.quarkus.test.QuarkusExtensionTest;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.mcollovati.quarkus.hilla.deployment.endpoints.VirtualThreadEndpoint;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import static com.github.mcollovati.quarkus.hilla.deployment.TestUtils.ADMIN;
+import static com.github.mcollovati.quarkus.hilla.deployment.TestUtils.USER;
+import static com.github.mcollovati.quarkus.hilla.deployment.TestUtils.givenEndpointRequest;
+
+class VirtualThreadEndpointTest {
+
+    private static final String ENDPOINT_NAME = VirtualThreadEndpoint.class.getSimpleName();
+
+    @RegisterExtension
+    static final QuarkusExtensionTest config = new QuarkusExtensionTest()
+            .withConfigurationResource(testResource("test-application.properties"))
+            .overrideRuntimeConfigKey("quarkus.http.auth.basic", "true")
+            .overrideRuntimeConfigKey("quarkus.http.auth.proactive", "true")
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(
+                            TestIdentityProvider.class,
+                            TestIdentityController.class,
+                            TestUtils.class,
+                            VirtualThreadEndpoint.class));
+
+    @BeforeAll
+    static void setupUsers() {
+        TestIdentityController.resetRoles()
+                .add(ADMIN.username, ADMIN.pwd, "ADMIN")
+                .add(USER.username, USER.pwd, "USER");
+    }
+
+    @Test
+    void invokeEndpoint_notAnnotated_runsOnPlatformThread() {
+        givenEndpointRequest(ENDPOINT_NAME, "platformThread")
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(equalTo("false"));
+    }
+
+    @Test
+    void invokeEndpoint_annotated_runsOnVirtualThread() {
+        givenEndpointRequest(ENDPOINT_NAME, "virtualThread")
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(equalTo("true"));
+    }
+
+    @Test
+    void invokeEndpoint_annotated_requestContextPropagated() {
+        givenEndpointRequest(ENDPOINT_NAME, "requestContextActive")
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(equalTo("true"));
+    }
+
+    @Test
+    void invokeEndpoint_annotatedSecured_securityIdentityPropagated() {
+        givenEndpointRequest(
+                        ENDPOINT_NAME,
+                        "securityIdentity",
+                        spec -> spec.auth().preemptive().basic(ADMIN.username, ADMIN.pwd))
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .and()
+                .body(equalTo("\"true admin ADMIN\""));
+
+        givenEndpointRequest(
+                        ENDPOINT_NAME,
+                        "securityIdentity",
+                        spec -> spec.auth().preemptive().basic(USER.username, USER.pwd))
+                .then()
+                .assertThat()
+                .statusCode(403);
+    }
+
+    private static String testResource(String name) {
+        return VirtualThreadEndpointTest.class.getPackageName().replace('.', '/') + '/' + name;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment.crud.panache;
+
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.hilla.BrowserCallable;
+
+import com.github.mcollovati.quarkus.hilla.crud.CountStrategy;
+import com.github.mcollovati.quarkus.hilla.crud.panache.ListRepositoryService;
+
+@BrowserCallable
+@AnonymousAllowed
+public class CappedCountListRepositoryService extends ListRepositoryService<TestEntity, Long, TestRepository> {
+
+    public CappedCountListRepositoryService() {
+        setCountStrategy(CountStrategy.atLeast(2));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment.crud.panache;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+
+import com.vaadin.hilla.crud.filter.PropertyStringFilter;
+import io.quarkus.builder.Version;
+import io.quarkus.maven.dependency.Dependency;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.quarkus.test.TestTransaction;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+@TestTransaction
+class CountStrategyTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest config = new QuarkusExtensionTest()
+            .setForcedDependencies(List.of(
+                    Dependency.of("io.quarkus", "quarkus-hibernate-orm-panache", Version.getVersion()),
+                    Dependency.of("io.quarkus", "quarkus-jdbc-h2", Version.getVersion())))
+            .withConfigurationResource(testResource("application.properties"))
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(testResource("import.sql"), "import.sql")
+                    .addClasses(
+                            TestEntity.class,
+                            TestRepository.class,
+                            CachedCountCrudRepositoryService.class,
+                            CappedCountListRepositoryService.class));
+
+    @Inject
+    CachedCountCrudRepositoryService cachedCountService;
+
+    @Inject
+    CappedCountListRepositoryService cappedCountService;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    void count_cached_reusedUntilServiceWrites() {
+        Assertions.assertThat(cachedCountService.count(null)).isEqualTo(5);
+
+        entityManager
+                .createNativeQuery("insert into test_table (id, text, number) "
+                        + "values (NEXT VALUE FOR test_table_SEQ, 'Six', 6)")
+                .executeUpdate();
+        Assertions.assertThat(cachedCountService.count(null)).isEqualTo(5);
+
+        TestEntity newEntity = new TestEntity();
+        newEntity.setText("Seven");
+        newEntity.setNumber(7);
+        cachedCountService.save(newEntity);
+        Assertions.assertThat(cachedCountService.count(null)).isEqualTo(7);
+    }
+
+    @Test
+    void count_cached_cachedPerFilterValue() {
+        Assertions.assertThat(cachedCountService.count(textFilter("o"))).isEqualTo(3);
+        Assertions.assertThat(cachedCountService.count(textFilter("t"))).isEqualTo(2);
+        Assertions.assertThat(cachedCountService.count(null)).isEqualTo(5);
+    }
+
+    @Test
+    void count_atLeast_stopsAfterLimit() {
+        Assertions.assertThat(cappedCountService.count(null)).isEqualTo(3);
+        Assertions.assertThat(cappedCountService.count(textFilter("f"))).isEqualTo(2);
+        Assertions.assertThat(cappedCountService.count(textFilter("one"))).isEqualTo(1);
+    }
+
+    @Test
+    void count_atLeast_entitiesNotLoaded() {
+        entityManager.clear();
+
+        Assertions.assertThat(cappedCountService.count(null)).isEqualTo(3);
+
+        Assertions.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+
+    private static PropertyStringFilter textFilter(String value) {
+        PropertyStringFilter filter = new PropertyStringFilter();
+        filter.setPropertyId("text");
+        filter.setFilterValue(value);
+        filter.setMatcher(PropertyStringFilter.Matcher.CONTAINS);
+        return filter;
+    }
+
+    private static String testResource(String name) {
+        return CountStrategyTest.class.getPackageName().replace('.', '/') + '/' + name;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment.crud.panache;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.hilla.crud.filter.PropertyStringFilter;
+import io.quarkus.builder.Version;
+import io.quarkus.maven.dependency.Dependency;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.quarkus.test.TestTransaction;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.github.mcollovati.quarkus.hilla.crud.FilterableRepositorySupport;
+import com.github.mcollovati.quarkus.hilla.crud.KeysetPagination;
+
+@TestTransaction
+class KeysetPaginationTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest config = new QuarkusExtensionTest()
+            .setForcedDependencies(List.of(
+                    Dependency.of("io.quarkus", "quarkus-hibernate-orm-panache", Version.getVersion()),
+                    Dependency.of("io.quarkus", "quarkus-jdbc-h2", Version.getVersion())))
+            .withConfigurationResource(testResource("application.properties"))
+            .overrideConfigKey("vaadin.hilla.crud.keyset-pagination", "true")
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(testResource("import.sql"), "import.sql")
+                    .addClasses(
+                            TestEntity.class,
+                            TestRepository.class,
+                            TestListRepositoryService.class,
+                            TestCrudRepositoryService.class));
+
+    @Inject
+    TestListRepositoryService service;
+
+    @Inject
+    TestCrudRepositoryService crudService;
+
+    @Inject
+    EntityManager entityManager;
+
+    private final KeysetPagination keysetPagination = FilterableRepositorySupport.keysetPagination();
+
+    @BeforeEach
+    void clearCursors() {
+        keysetPagination.clear();
+    }
+
+    @Test
+    void list_sequentialPages_seekAfterFirstPage() {
+        insertRows();
+        List<Long> expected = entityManager
+                .createQuery("select e.id from TestEntity e order by e.number asc nulls last, e.id asc", Long.class)
+                .getResultList();
+
+        List<Long> loaded = loadAllPages(PageRequest.of(0, 25, Sort.by("number")), null);
+
+        Assertions.assertThat(loaded).containsExactlyElementsOf(expected);
+        // 206 rows: every full page provides the cursor for the next one
+        Assertions.assertThat(keysetPagination.getSeekCount()).isEqualTo(8);
+        Assertions.assertThat(keysetPagination.getOffsetCount()).isEqualTo(2);
+    }
+
+    @Test
+    void list_filteredDescendingIgnoreCase_sameRowsAsOffsetPagination() {
+        insertRows();
+        PropertyStringFilter filter = new PropertyStringFilter();
+        filter.setPropertyId("text");
+        filter.setFilterValue("row 1");
+        filter.setMatcher(PropertyStringFilter.Matcher.CONTAINS);
+        List<Long> expected = entityManager
+                .createQuery(
+                        "select e.id from TestEntity e where lower(e.text) like '%row 1%' "
+                                + "order by lower(e.text) desc, e.id asc",
+                        Long.class)
+                .getResultList();
+
+        List<Long> loaded = loadAllPages(
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("text").ignoreCase())), filter);
+
+        Assertions.assertThat(loaded).containsExactlyElementsOf(expected);
+        Assertions.assertThat(keysetPagination.getSeekCount()).isPositive();
+    }
+
+    @Test
+    void list_randomJump_offsetFallback() {
+        insertRows();
+        List<TestEntity> expected = entityManager
+                .createQuery("select e from TestEntity e order by e.number asc nulls last, e.id asc", TestEntity.class)
+                .setFirstResult(100)
+                .setMaxResults(20)
+                .getResultList();
+
+        List<TestEntity> page = service.list(PageRequest.of(5, 20, Sort.by("number")), null);
+
+        Assertions.assertThat(page).containsExactlyElementsOf(expected);
+        Assertions.assertThat(keysetPagination.getSeekCount()).isZero();
+        Assertions.assertThat(keysetPagination.getOffsetCount()).isEqualTo(1);
+    }
+
+    @Test
+    void list_entitySavedBetweenPages_cursorsDropped() {
+        insertRows();
+        Pageable firstPage = PageRequest.of(0, 25, Sort.by("number"));
+        service.list(firstPage, null);
+        service.list(firstPage.next(), null);
+
+        TestEntity entity = new TestEntity();
+        entity.setText("Inserted");
+        entity.setNumber(0);
+        crudService.save(entity);
+        List<TestEntity> expected = entityManager
+                .createQuery("select e from TestEntity e order by e.number asc nulls last, e.id asc", TestEntity.class)
+                .setFirstResult(50)
+                .setMaxResults(25)
+                .getResultList();
+
+        List<TestEntity> page = service.list(firstPage.next().next(), null);
+
+        Assertions.assertThat(page).containsExactlyElementsOf(expected);
+        Assertions.assertThat(keysetPagination.getSeekCount()).isEqualTo(1);
+        Assertions.assertThat(keysetPagination.getOffsetCount()).isEqualTo(2);
+    }
+
+    @Test
+    void list_sessionFilterEnabled_offsetPagination() {
+        insertRows();
+        entityManager.unwrap(Session.class).enableFilter("minNumber").setParameter("min", 3);
+        List<Long> expected = entityManager
+                .createQuery("select e.id from TestEntity e order by e.number asc nulls last, e.id asc", Long.class)
+                .getResultList();
+
+        List<Long> loaded = loadAllPages(PageRequest.of(0, 25, Sort.by("number")), null);
+
+        Assertions.assertThat(loaded).containsExactlyElementsOf(expected);
+        Assertions.assertThat(keysetPagination.getSeekCount()).isZero();
+    }
+
+    private void insertRows() {
+        entityManager
+                .createNativeQuery("""
+                        insert into test_table (id, text, number)
+                        select NEXT VALUE FOR test_table_SEQ, 'Row ' || X, MOD(X, 7) from SYSTEM_RANGE(1, 200)
+                        """)
+                .executeUpdate();
+        entityManager
+                .createNativeQuery("""
+                        insert into test_table (id, text, number)
+                        values (NEXT VALUE FOR test_table_SEQ, 'No number', null)
+                        """)
+                .executeUpdate();
+    }
+
+    private List<Long> loadAllPages(Pageable firstPage, PropertyStringFilter filter) {
+        List<Long> loaded = new ArrayList<>();
+        Pageable page = firstPage;
+        List<TestEntity> chunk;
+        do {
+            chunk = service.list(page, filter);
+            chunk.forEach(entity -> loaded.add(entity.id));
+            page = page.next();
+        } while (!chunk.isEmpty());
+        return loaded;
+    }
+
+    private static String testResource(String name) {
+        return KeysetPaginationTest.class.getPackageName().replace('.', '/') + '/' + name;
+    }
+}
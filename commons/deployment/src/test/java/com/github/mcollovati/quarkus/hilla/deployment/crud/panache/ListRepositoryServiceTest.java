@@ -35,6 +35,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import com.github.mcollovati.quarkus.hilla.crud.FilterQueryCache;
+import com.github.mcollovati.quarkus.hilla.crud.FilterableRepositorySupport;
+
 import static org.assertj.core.groups.Tuple.tuple;
 
 @TestTransaction
@@ -324,6 +327,33 @@ class ListRepositoryServiceTest {
         Assertions.assertThat(list).isEmpty();
     }
 
+    @Test
+    void listService_sameFilterStructure_queryCacheHit() {
+        PropertyStringFilter filter = new PropertyStringFilter();
+        filter.setPropertyId("number");
+        filter.setFilterValue("1");
+        filter.setMatcher(PropertyStringFilter.Matcher.GREATER_THAN);
+        Pageable page = PageRequest.of(0, 10, Sort.by("text"));
+        service.list(page, filter);
+
+        FilterQueryCache.Statistics before = FilterableRepositorySupport.queryCache().getStatistics();
+        filter.setFilterValue("3");
+        List<TestEntity> list = service.list(page, filter);
+        FilterQueryCache.Statistics after = FilterableRepositorySupport.queryCache().getStatistics();
+
+        Assertions.assertThat(list)
+                .extracting(TestEntity::getText, TestEntity::getNumber)
+                .containsExactly(tuple("Five", 5), tuple("Four", 4));
+        Assertions.assertThat(after.hits()).isEqualTo(before.hits() + 1);
+        Assertions.assertThat(after.misses()).isEqualTo(before.misses());
+    }
+
+    @Test
+    void listService_unknownSortProperty_throws() {
+        Pageable page = PageRequest.of(0, 10, Sort.by("text desc, id"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> service.list(page, null));
+    }
+
     private static String testResource(String name) {
         return ListRepositoryServiceTest.class.getPackageName().replace('.', '/') + '/' + name;
     }
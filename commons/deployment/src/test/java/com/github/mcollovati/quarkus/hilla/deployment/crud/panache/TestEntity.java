@@ -19,9 +19,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
 @Entity
 @Table(name = "test_table")
+@FilterDef(name = "minNumber", parameters = @ParamDef(name = "min", type = Integer.class))
+@Filter(name = "minNumber", condition = "number >= :min")
 public class TestEntity extends PanacheEntity {
 
     private String text;
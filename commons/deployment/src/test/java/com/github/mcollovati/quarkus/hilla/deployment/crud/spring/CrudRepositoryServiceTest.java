@@ -17,6 +17,7 @@ package com.github.mcollovati.quarkus.hilla.deployment.crud.spring;
 
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 
 import io.quarkus.builder.Version;
@@ -119,6 +120,58 @@ class CrudRepositoryServiceTest {
                 .equals(existingEntity.getId()));
     }
 
+    @Test
+    void saveAll_newAndExistingEntities_allSaved() {
+        List<TestEntity> allEntities =
+                entityManager.createQuery("from TestEntity", TestEntity.class).getResultList();
+        int initialSize = allEntities.size();
+        long id = allEntities.get(0).getId();
+        entityManager.clear();
+
+        List<TestEntity> values = new ArrayList<>();
+        TestEntity copy = new TestEntity();
+        copy.setId(id);
+        copy.setText("Ten");
+        copy.setNumber(10);
+        values.add(copy);
+        // more entities than a single flush/clear chunk
+        for (int i = 0; i < 120; i++) {
+            TestEntity newEntity = new TestEntity();
+            newEntity.setText("New " + i);
+            newEntity.setNumber(i);
+            values.add(newEntity);
+        }
+        List<TestEntity> saved = service.saveAll(values);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Assertions.assertThat(saved).hasSize(121).allMatch(e -> e.getId() != null);
+        Assertions.assertThat(entityManager
+                        .createQuery("select count(e) from TestEntity e", Long.class)
+                        .getSingleResult())
+                .isEqualTo(initialSize + 120);
+        Assertions.assertThat(entityManager.find(TestEntity.class, id))
+                .extracting(TestEntity::getText, TestEntity::getNumber)
+                .containsExactly("Ten", 10);
+    }
+
+    @Test
+    void deleteAll_entitiesDeleted() {
+        List<Long> ids = entityManager
+                .createQuery("select e.id from TestEntity e order by e.id", Long.class)
+                .getResultList();
+
+        service.deleteAll(ids.subList(0, 3));
+
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> remaining = entityManager
+                .createQuery("select e.id from TestEntity e order by e.id", Long.class)
+                .getResultList();
+        Assertions.assertThat(remaining).containsExactlyElementsOf(ids.subList(3, ids.size()));
+    }
+
     private static String testResource(String name) {
         return CrudRepositoryServiceTest.class.getPackageName().replace('.', '/') + '/' + name;
     }
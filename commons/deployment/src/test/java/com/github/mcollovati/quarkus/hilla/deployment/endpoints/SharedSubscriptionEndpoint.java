@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment.endpoints;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.hilla.BrowserCallable;
+import io.smallrye.mutiny.Multi;
+
+import com.github.mcollovati.quarkus.hilla.SharedSubscription;
+
+@BrowserCallable
+@AnonymousAllowed
+public class SharedSubscriptionEndpoint {
+
+    public static final int BURST_SIZE = 1000;
+
+    private final ConcurrentHashMap<String, AtomicInteger> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> cancellations = new ConcurrentHashMap<>();
+
+    @SharedSubscription(scope = SharedSubscription.Scope.GLOBAL)
+    public Multi<Long> sharedTicks(String name) {
+        return ticks(name);
+    }
+
+    @SharedSubscription(
+            scope = SharedSubscription.Scope.GLOBAL,
+            bufferSize = 1,
+            overflow = SharedSubscription.Overflow.DROP_OLDEST)
+    public Multi<Integer> sharedBurst(String name) {
+        return Multi.createFrom().range(0, BURST_SIZE);
+    }
+
+    public Multi<Long> ticks(String name) {
+        Duration interval = Duration.ofMillis(100);
+        return Multi.createFrom()
+                .ticks()
+                .every(interval)
+                .onSubscription()
+                .invoke(() -> counter(subscriptions, name).incrementAndGet())
+                .onCancellation()
+                .invoke(() -> counter(cancellations, name).incrementAndGet());
+    }
+
+    public int subscriptionCount(String name) {
+        return counter(subscriptions, name).get();
+    }
+
+    public int cancellationCount(String name) {
+        return counter(cancellations, name).get();
+    }
+
+    private static AtomicInteger counter(ConcurrentHashMap<String, AtomicInteger> counters, String name) {
+        return counters.computeIfAbsent(name, unused -> new AtomicInteger());
+    }
+}
@@ -15,8 +15,13 @@
  */
 package com.github.mcollovati.quarkus.hilla.deployment.endpoints;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.hilla.BrowserCallable;
+import com.vaadin.hilla.exception.EndpointException;
+import io.smallrye.mutiny.Uni;
 
 @BrowserCallable
 @AnonymousAllowed
@@ -44,4 +49,16 @@ public class TestBrowserCallable {
     public Pojo pojo(Pojo pojo) {
         return new Pojo(pojo.number * 10, pojo.text + pojo.text);
     }
+
+    public Uni<String> echoUni(String message) {
+        return Uni.createFrom().item(message);
+    }
+
+    public CompletionStage<Pojo> pojoAsync(Pojo pojo) {
+        return CompletableFuture.supplyAsync(() -> pojo(pojo));
+    }
+
+    public Uni<String> failingUni(String message) {
+        return Uni.createFrom().failure(new EndpointException(message));
+    }
 }
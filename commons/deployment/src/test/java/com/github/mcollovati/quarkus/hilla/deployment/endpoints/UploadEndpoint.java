@@ -17,6 +17,7 @@ package com.github.mcollovati.quarkus.hilla.deployment.endpoints;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
@@ -40,6 +41,14 @@ public class UploadEndpoint {
         }
     }
 
+    public String content(MultipartFile file) {
+        try {
+            return new String(file.getBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public record Info(
             String id, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date) {}
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.deployment.endpoints;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import java.util.TreeSet;
+
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.hilla.Endpoint;
+import io.quarkus.arc.Arc;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+
+@Endpoint
+@AnonymousAllowed
+public class VirtualThreadEndpoint {
+
+    @Inject
+    SecurityIdentity identity;
+
+    public boolean platformThread() {
+        return Thread.currentThread().isVirtual();
+    }
+
+    @RunOnVirtualThread
+    public boolean virtualThread() {
+        return Thread.currentThread().isVirtual();
+    }
+
+    @RunOnVirtualThread
+    public boolean requestContextActive() {
+        return Arc.container().requestContext().isActive();
+    }
+
+    @RunOnVirtualThread
+    @RolesAllowed("ADMIN")
+    public String securityIdentity() {
+        return Thread.currentThread().isVirtual() + " " + identity.getPrincipal().getName() + " "
+                + String.join(",", new TreeSet<>(identity.getRoles()));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class EndpointBeansRecorder {
+
+    /**
+     * Registers the endpoint classes found at build time, so that endpoint beans are looked up by class when Hilla
+     * registers the endpoints.
+     *
+     * @param endpointClasses the names of the endpoint classes, by endpoint annotation name
+     */
+    public void registerEndpointClasses(Map<String, List<String>> endpointClasses) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Map<String, List<Class<?>>> beanClasses = new HashMap<>();
+        endpointClasses.forEach((annotation, classNames) -> {
+            List<Class<?>> classes = new ArrayList<>(classNames.size());
+            for (String className : classNames) {
+                try {
+                    classes.add(classLoader.loadClass(className));
+                } catch (ClassNotFoundException ex) {
+                    throw new IllegalStateException("Cannot load endpoint class " + className, ex);
+                }
+            }
+            beanClasses.put(annotation, classes);
+        });
+        QuarkusApplicationContext.setAnnotatedBeanClasses(beanClasses);
+    }
+}
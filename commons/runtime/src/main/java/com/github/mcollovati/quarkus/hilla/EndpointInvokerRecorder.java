@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class EndpointInvokerRecorder {
+
+    /**
+     * Registers the endpoint method invokers generated at build time.
+     *
+     * @param invokerClasses the names of the generated invoker classes, by method key
+     * @see EndpointMethodInvokers#key(String, String, Iterable)
+     */
+    public void registerInvokers(Map<String, String> invokerClasses) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Map<String, EndpointMethodInvoker> invokers = new HashMap<>();
+        invokerClasses.forEach((key, className) -> {
+            try {
+                invokers.put(key, (EndpointMethodInvoker)
+                        classLoader.loadClass(className).getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Cannot create endpoint method invoker " + className, ex);
+            }
+        });
+        EndpointMethodInvokers.register(invokers);
+    }
+}
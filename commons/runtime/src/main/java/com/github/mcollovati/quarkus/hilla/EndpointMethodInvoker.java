@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+/**
+ * Invokes an endpoint method with a direct call.
+ * <p>
+ * Implementations are generated at build time for every method exposed by
+ * endpoints, and used by {@link EndpointMethodInvokers} in place of
+ * reflection.
+ */
+@FunctionalInterface
+public interface EndpointMethodInvoker {
+
+    /**
+     * Invokes the method.
+     *
+     * @param endpoint  the endpoint instance
+     * @param arguments the method arguments, already checked against the
+     *                  method parameter types
+     * @return the value returned by the method, boxed if primitive, or
+     * {@literal null} for void methods
+     * @throws Throwable any exception thrown by the method
+     */
+    Object invoke(Object endpoint, Object[] arguments) throws Throwable;
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls endpoint methods through invokers generated at build time.
+ * <p>
+ * Hilla invokes endpoint methods with {@link Method#invoke(Object, Object...)}.
+ * The call is redirected here, so that methods with a generated
+ * {@link EndpointMethodInvoker} are called directly; the invoker of a method
+ * is looked up once and then cached by method. Methods without an invoker,
+ * for example those of non-public classes, are still called reflectively.
+ * <p>
+ * Arguments are checked against the parameter types before the call, so
+ * that wrong arguments are reported with an
+ * {@link IllegalArgumentException}, and exceptions thrown by the method are
+ * wrapped in an {@link InvocationTargetException}, as reflection does.
+ */
+public final class EndpointMethodInvokers {
+
+    private static final Resolved REFLECTION = new Resolved(null, null, null);
+    private static final Map<Method, Resolved> RESOLVED = new ConcurrentHashMap<>();
+    private static final LongAdder DIRECT_CALLS = new LongAdder();
+    private static final LongAdder REFLECTIVE_CALLS = new LongAdder();
+    private static volatile Map<String, EndpointMethodInvoker> invokers = Map.of();
+
+    private EndpointMethodInvokers() {}
+
+    /**
+     * Gets the key identifying a method in the registered invokers.
+     *
+     * @param className      the name of the class declaring the method
+     * @param methodName     the method name
+     * @param parameterTypes the names of the erased parameter types, as
+     *                       returned by {@link Class#getName()}
+     * @return the method key
+     */
+    public static String key(String className, String methodName, Iterable<String> parameterTypes) {
+        return className + "#" + methodName + "(" + String.join(",", parameterTypes) + ")";
+    }
+
+    static void register(Map<String, EndpointMethodInvoker> generated) {
+        invokers = Map.copyOf(generated);
+        RESOLVED.clear();
+    }
+
+    static Object invoke(Method method, Object endpoint, Object[] arguments)
+            throws IllegalAccessException, InvocationTargetException {
+        Resolved resolved = RESOLVED.computeIfAbsent(method, EndpointMethodInvokers::resolve);
+        if (resolved == REFLECTION) {
+            REFLECTIVE_CALLS.increment();
+            return method.invoke(endpoint, arguments);
+        }
+        Object[] args = arguments != null ? arguments : new Object[0];
+        resolved.checkArguments(method, args);
+        DIRECT_CALLS.increment();
+        try {
+            return resolved.invoker().invoke(endpoint, args);
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    private static Resolved resolve(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        List<String> parameterTypeNames = new ArrayList<>(parameterTypes.length);
+        Class<?>[] argumentTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypeNames.add(parameterTypes[i].getName());
+            argumentTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+        EndpointMethodInvoker invoker =
+                invokers.get(key(method.getDeclaringClass().getName(), method.getName(), parameterTypeNames));
+        return invoker != null ? new Resolved(invoker, parameterTypes, argumentTypes) : REFLECTION;
+    }
+
+    /**
+     * Gets how many endpoint calls have been made through generated invokers.
+     *
+     * @return the number of direct calls
+     */
+    public static long getDirectCallCount() {
+        return DIRECT_CALLS.sum();
+    }
+
+    /**
+     * Gets how many endpoint calls have been made reflectively, because no
+     * invoker was generated for the method.
+     *
+     * @return the number of reflective calls
+     */
+    public static long getReflectiveCallCount() {
+        return REFLECTIVE_CALLS.sum();
+    }
+
+    private record Resolved(EndpointMethodInvoker invoker, Class<?>[] parameterTypes, Class<?>[] argumentTypes) {
+
+        private void checkArguments(Method method, Object[] arguments) {
+            if (arguments.length != parameterTypes.length) {
+                throw new IllegalArgumentException("Wrong number of arguments for " + method + ": expected "
+                        + parameterTypes.length + ", got " + arguments.length);
+            }
+            for (int i = 0; i < arguments.length; i++) {
+                Object argument = arguments[i];
+                if (argument == null ? parameterTypes[i].isPrimitive() : !argumentTypes[i].isInstance(argument)) {
+                    throw new IllegalArgumentException("Argument " + i + " of " + method + " has wrong type");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import com.vaadin.hilla.EndpointSubscription;
+import io.smallrye.mutiny.Uni;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Resolves the serializers and deserializers of the types used by endpoint methods ahead of the first calls.
+ * <p>
+ * Jackson introspects a type the first time a value of that type is written or read, and caches the resulting
+ * serializer or deserializer in the object mapper. Resolving them at startup, for the parameter types and for the
+ * return types of endpoint methods, removes that cost from the first endpoint calls. The return types of reactive and
+ * asynchronous methods are resolved for the type of the emitted items.
+ */
+final class EndpointObjectMapperWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointObjectMapperWarmUp.class);
+    private static final List<Class<?>> ASYNC_TYPES =
+            List.of(Publisher.class, Flow.Publisher.class, Uni.class, CompletionStage.class, EndpointSubscription.class);
+
+    private EndpointObjectMapperWarmUp() {}
+
+    /**
+     * Resolves the serializers and deserializers of the types used by the public methods of the given endpoints.
+     *
+     * @param objectMapper    the endpoint object mapper
+     * @param endpointClasses the endpoint classes
+     * @return the number of resolved types
+     */
+    static int warmUp(ObjectMapper objectMapper, Collection<Class<?>> endpointClasses) {
+        Set<JavaType> types = new LinkedHashSet<>();
+        for (Class<?> endpointClass : endpointClasses) {
+            JavaType endpointType = objectMapper.constructType(endpointClass);
+            for (Method method : endpointClass.getMethods()) {
+                if (method.getDeclaringClass() == Object.class || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                JavaType declaringType = endpointType.findSuperType(method.getDeclaringClass());
+                types.add(itemType(resolve(objectMapper, declaringType, method.getGenericReturnType())));
+                for (Type parameterType : method.getGenericParameterTypes()) {
+                    types.add(resolve(objectMapper, declaringType, parameterType));
+                }
+            }
+        }
+        int resolved = 0;
+        for (JavaType type : types) {
+            if (type.isPrimitive() || type.hasRawClass(Object.class) || type.hasRawClass(Void.class)) {
+                continue;
+            }
+            try {
+                // readers and writers created for a type eagerly fetch and
+                // cache its root deserializer and serializer
+                objectMapper.writerFor(type);
+                objectMapper.readerFor(type);
+                resolved++;
+            } catch (RuntimeException ex) {
+                LOGGER.debug("Cannot resolve JSON serializers for endpoint type {}", type, ex);
+            }
+        }
+        LOGGER.debug("Resolved JSON serializers for {} endpoint types", resolved);
+        return resolved;
+    }
+
+    private static JavaType resolve(ObjectMapper objectMapper, JavaType declaringType, Type type) {
+        // resolves type variables of generic services, e.g. the entity type
+        // of CRUD services
+        return declaringType != null
+                ? objectMapper.getTypeFactory().resolveMemberType(type, declaringType.getBindings())
+                : objectMapper.constructType(type);
+    }
+
+    private static JavaType itemType(JavaType type) {
+        for (Class<?> asyncType : ASYNC_TYPES) {
+            JavaType superType = type.findSuperType(asyncType);
+            if (superType != null && superType.containedTypeCount() == 1) {
+                return superType.containedType(0);
+            }
+        }
+        return type;
+    }
+}
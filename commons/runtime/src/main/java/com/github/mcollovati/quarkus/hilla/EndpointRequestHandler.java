@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.util.concurrent.CompletionStage;
+
+import com.vaadin.hilla.EndpointController;
+import com.vaadin.hilla.EndpointInvoker;
+import com.vaadin.hilla.exception.EndpointException;
+import io.smallrye.mutiny.Uni;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Serves endpoint calls through {@link EndpointController}, writing the
+ * response itself for methods returning a single asynchronous result
+ * ({@link Uni} or {@link CompletionStage}) and, when enabled, for results
+ * that must be streamed to the response output stream.
+ * <p>
+ * CSRF validation, DAU tracking, access control and the errors raised while
+ * invoking the method are always handled by {@link EndpointController}. For
+ * the calls served by this handler, {@link QuarkusEndpointInvoker} passes
+ * the value returned by the endpoint method to {@link #intercept(Object)},
+ * and the controller only serializes a placeholder that is then replaced by
+ * the actual response.
+ * <p>
+ * Failures of an asynchronous result are reported as {@link EndpointController}
+ * reports exceptions thrown by the endpoint method. When streaming is enabled,
+ * a failure while serializing the result may happen after part of the
+ * response has already been sent; in that case the connection is terminated
+ * with a server error instead of returning a JSON error object.
+ */
+class EndpointRequestHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointRequestHandler.class);
+
+    private static final ThreadLocal<InterceptedResult> INTERCEPTED = new ThreadLocal<>();
+
+    private final EndpointController delegate;
+    private final EndpointInvoker endpointInvoker;
+    private final ObjectMapper objectMapper;
+    private final boolean streamingResponse;
+
+    EndpointRequestHandler(
+            EndpointController delegate,
+            EndpointInvoker endpointInvoker,
+            ObjectMapper objectMapper,
+            boolean streamingResponse) {
+        this.delegate = delegate;
+        this.endpointInvoker = endpointInvoker;
+        this.objectMapper = objectMapper;
+        this.streamingResponse = streamingResponse;
+    }
+
+    /**
+     * Takes the value returned by an endpoint method, if the call is being
+     * served by this handler on the current thread.
+     *
+     * @param result the value returned by the endpoint method
+     * @return {@literal null} if the value has been taken, otherwise the given
+     * value
+     */
+    static Object intercept(Object result) {
+        InterceptedResult intercepted = INTERCEPTED.get();
+        if (intercepted == null) {
+            return result;
+        }
+        INTERCEPTED.remove();
+        intercepted.value = result;
+        intercepted.taken = true;
+        return null;
+    }
+
+    /**
+     * Serves an endpoint call.
+     *
+     * @param endpointName the name of the endpoint
+     * @param methodName   the name of the endpoint method
+     * @param body         the request body, may be {@literal null}
+     * @param request      the current request
+     * @param response     the current response
+     * @return the response, completed when the endpoint result is available
+     */
+    Uni<Response> serve(
+            String endpointName,
+            String methodName,
+            ObjectNode body,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        if (!streamingResponse && !isAsync(endpointName, methodName)) {
+            return Uni.createFrom()
+                    .item(buildResponse(delegate.serveEndpoint(endpointName, methodName, body, request, response)));
+        }
+        InterceptedResult intercepted = new InterceptedResult();
+        INTERCEPTED.set(intercepted);
+        ResponseEntity<String> endpointResponse;
+        try {
+            endpointResponse = delegate.serveEndpoint(endpointName, methodName, body, request, response);
+        } finally {
+            INTERCEPTED.remove();
+        }
+        if (!intercepted.taken || !endpointResponse.getStatusCode().is2xxSuccessful()) {
+            return Uni.createFrom().item(buildResponse(endpointResponse));
+        }
+        Object result = intercepted.value;
+        if (result instanceof Uni<?> uni) {
+            return asyncResponse(endpointName, methodName, uni);
+        } else if (result instanceof CompletionStage<?> completionStage) {
+            return asyncResponse(endpointName, methodName, Uni.createFrom().completionStage(completionStage));
+        }
+        return Uni.createFrom().item(resultResponse(endpointName, methodName, result));
+    }
+
+    static Response buildResponse(ResponseEntity<String> endpointResponse) {
+        Response.ResponseBuilder builder =
+                Response.status(endpointResponse.getStatusCode().value());
+        endpointResponse.getHeaders().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        if (endpointResponse.hasBody()) {
+            builder.entity(endpointResponse.getBody());
+        }
+        return builder.build();
+    }
+
+    private boolean isAsync(String endpointName, String methodName) {
+        Class<?> returnType = endpointInvoker.getReturnType(endpointName, methodName);
+        return returnType != null
+                && (Uni.class.isAssignableFrom(returnType) || CompletionStage.class.isAssignableFrom(returnType));
+    }
+
+    private Uni<Response> asyncResponse(String endpointName, String methodName, Uni<?> result) {
+        return result.map(item -> resultResponse(endpointName, methodName, item))
+                .onFailure()
+                .recoverWithItem(failure -> failureResponse(endpointName, methodName, failure));
+    }
+
+    private Response resultResponse(String endpointName, String methodName, Object result) {
+        if (streamingResponse) {
+            return Response.ok(streamResult(endpointName, methodName, result), MediaType.APPLICATION_JSON_TYPE)
+                    .build();
+        }
+        try {
+            return Response.ok(objectMapper.writeValueAsString(result), MediaType.APPLICATION_JSON_TYPE)
+                    .build();
+        } catch (JacksonException ex) {
+            String message = serializationFailureMessage(endpointName, methodName);
+            LOGGER.error(message, ex);
+            return internalErrorResponse(message);
+        }
+    }
+
+    private StreamingOutput streamResult(String endpointName, String methodName, Object result) {
+        return output -> {
+            try {
+                objectMapper.writeValue(output, result);
+            } catch (JacksonException ex) {
+                String message = serializationFailureMessage(endpointName, methodName);
+                LOGGER.error(message, ex);
+                throw new InternalServerErrorException(message, ex);
+            }
+        };
+    }
+
+    private static String serializationFailureMessage(String endpointName, String methodName) {
+        return String.format(
+                "Failed to serialize endpoint '%s' method '%s' response. "
+                        + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
+                endpointName, methodName, EndpointController.ENDPOINT_MAPPER_FACTORY_BEAN_QUALIFIER);
+    }
+
+    // Same outcome as EndpointInvoker for exceptions thrown by the endpoint
+    // method: EndpointException is sent to the client, anything else is
+    // hidden behind a generic internal error.
+    private Response failureResponse(String endpointName, String methodName, Throwable failure) {
+        if (failure instanceof EndpointException endpointException) {
+            LOGGER.debug("Endpoint '{}' method '{}' aborted the execution", endpointName, methodName, failure);
+            return errorResponse(endpointException);
+        }
+        String message = String.format("Endpoint '%s' method '%s' execution failure", endpointName, methodName);
+        LOGGER.error(message, failure);
+        return internalErrorResponse(message);
+    }
+
+    // Error responses are written as EndpointController does for the
+    // exceptions raised while serving a request.
+    private Response errorResponse(EndpointException exception) {
+        try {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity(objectMapper.writeValueAsString(exception.getSerializationData()))
+                    .build();
+        } catch (JacksonException ex) {
+            String message = "Failed to serialize error object for endpoint exception.";
+            LOGGER.error(message, ex);
+            return Response.serverError().entity(message).build();
+        }
+    }
+
+    private Response internalErrorResponse(String message) {
+        ObjectNode error = objectMapper.createObjectNode().put(EndpointException.ERROR_MESSAGE_FIELD, message);
+        return Response.serverError()
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity(error.toString())
+                .build();
+    }
+
+    private static final class InterceptedResult {
+        private Object value;
+        private boolean taken;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+/**
+ * CDI event fired every time Hilla (re-)registers the endpoints in the
+ * {@link com.vaadin.hilla.EndpointRegistry}, at startup and after endpoint
+ * classes are hot swapped in development mode.
+ * <p>
+ * Beans caching information derived from the registered endpoints observe
+ * this event to discard it.
+ */
+public final class EndpointsRegisteredEvent {
+
+    EndpointsRegisteredEvent() {}
+}
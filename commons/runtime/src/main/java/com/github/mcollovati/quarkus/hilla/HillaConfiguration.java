@@ -16,7 +16,9 @@
 package com.github.mcollovati.quarkus.hilla;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 
 import io.quarkus.runtime.annotations.ConfigPhase;
@@ -38,6 +40,184 @@ public interface HillaConfiguration {
      */
     LiveReloadConfig liveReload();
 
+    /**
+     * Configuration properties for CRUD and list repository services.
+     *
+     * @return configuration properties for CRUD and list repository services.
+     */
+    CrudConfig crud();
+
+    /**
+     * Configuration properties for push connections.
+     *
+     * @return configuration properties for push connections.
+     */
+    PushConfig push();
+
+    /**
+     * Configuration properties for push connections.
+     */
+    interface PushConfig {
+
+        /**
+         * Serve push WebSocket connections directly on Vert.x.
+         * <p>
+         * When enabled, WebSocket connections to the Hilla push path are handled by a Vert.x route instead of the
+         * servlet container and Atmosphere. Clients falling back to long-polling are still served by Atmosphere.
+         * </p>
+         *
+         * @return {@literal true} if push WebSocket connections are served by Vert.x, otherwise {@literal false}
+         */
+        @WithDefault("false")
+        boolean vertxWebsocket();
+
+        /**
+         * The threads running Atmosphere message dispatch and asynchronous write tasks.
+         * <p>
+         * By default, Atmosphere creates its own thread pools. With {@literal virtual-threads}, push tasks run on
+         * virtual threads instead. The Quarkus worker pool is not an option: every broadcaster keeps two tasks
+         * running for its whole life, which would take worker threads away from HTTP requests.
+         * </p>
+         *
+         * @return the threads used by push
+         */
+        @WithDefault("atmosphere")
+        ExecutorType executor();
+
+        /**
+         * The maximum size of the Atmosphere thread pools for message dispatch and for asynchronous writes.
+         * <p>
+         * Only applies to the {@literal atmosphere} executor, virtual threads are not pooled. Every broadcaster keeps
+         * one task running on each pool, so the value must be at least 2.
+         * </p>
+         * By default, Atmosphere decides the size of the pools.
+         *
+         * @return the maximum size of Atmosphere push thread pools
+         */
+        OptionalInt maxThreads();
+
+        /**
+         * Limits on the items waiting to be sent to a single push subscription.
+         *
+         * @return configuration properties for push buffers
+         */
+        BufferConfig buffer();
+
+        /**
+         * Batching of the push messages sent to the browser over WebSocket.
+         *
+         * @return configuration properties for push message batching
+         */
+        BatchConfig batch();
+
+        /**
+         * Limits on the items waiting to be sent to a single push subscription.
+         */
+        interface BufferConfig {
+
+            /**
+             * The maximum number of items waiting to be sent to a single push subscription.
+             * <p>
+             * When a limit is set, items are sent to the browser from a worker thread, and items exceeding the limit
+             * are handled according to {@link #overflow()}.
+             * </p>
+             * By default, there is no limit.
+             *
+             * @return the maximum number of buffered items, or {@literal 0} for no limit
+             */
+            @WithDefault("0")
+            int maxItems();
+
+            /**
+             * The maximum size of the items waiting to be sent to a single push subscription, approximated by the
+             * length of their JSON representation.
+             * <p>
+             * By default, there is no limit.
+             * </p>
+             *
+             * @return the maximum buffered size, or {@literal 0} for no limit
+             */
+            @WithDefault("0")
+            long maxBytes();
+
+            /**
+             * The policy applied when the buffer of a push subscription exceeds its limits.
+             *
+             * @return the overflow policy
+             */
+            @WithDefault("drop-oldest")
+            SharedSubscription.Overflow overflow();
+
+            /**
+             * Gets the push buffer limits as a single settings object.
+             *
+             * @return the push buffer settings
+             */
+            default PushBufferSettings settings() {
+                return new PushBufferSettings(maxItems(), maxBytes(), overflow());
+            }
+        }
+
+        /**
+         * Batching of push messages.
+         */
+        interface BatchConfig {
+
+            /**
+             * The maximum number of messages sent together.
+             * <p>
+             * When set to 2 or more, messages sent within {@link #maxDelay()} of each other are packed together.
+             * </p>
+             * By default, messages are not batched.
+             *
+             * @return the maximum number of messages per batch, or {@literal 0} to disable batching
+             */
+            @WithDefault("0")
+            int maxItems();
+
+            /**
+             * The maximum time a message waits for other messages to be sent with.
+             *
+             * @return the batching window
+             */
+            @WithDefault("10ms")
+            Duration maxDelay();
+        }
+
+        /**
+         * The threads used by push.
+         */
+        enum ExecutorType {
+            /**
+             * Thread pools created by Atmosphere.
+             */
+            ATMOSPHERE,
+            /**
+             * A new virtual thread for every task.
+             */
+            VIRTUAL_THREADS
+        }
+    }
+
+    /**
+     * Configuration properties for CRUD and list repository services.
+     */
+    interface CrudConfig {
+
+        /**
+         * Enable keyset pagination for filtered lists.
+         * <p>
+         * When enabled, loading the page that follows the previously loaded one seeks directly to its first row,
+         * based on the sort keys of the last row of the previous page, instead of skipping rows by offset. Rows are
+         * ordered by the requested sort followed by the entity ID, with {@literal null} values sorted last.
+         * </p>
+         *
+         * @return {@literal true} if keyset pagination is enabled, otherwise {@literal false}
+         */
+        @WithDefault("false")
+        boolean keysetPagination();
+    }
+
     /**
      * Configuration properties for endpoints hot reload.
      * <p>
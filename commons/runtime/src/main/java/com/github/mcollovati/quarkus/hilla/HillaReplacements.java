@@ -15,13 +15,18 @@
  */
 package com.github.mcollovati.quarkus.hilla;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import com.vaadin.flow.signals.SignalCommand;
 import com.vaadin.hilla.engine.EngineAutoConfiguration;
 import org.springframework.context.ApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
 public final class HillaReplacements {
 
@@ -46,4 +51,35 @@ public final class HillaReplacements {
                 .distinct()
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Replacement for {@link ObjectMapper#valueToTree(Object)} in Hilla {@code InternalSignal}, that reuses the JSON
+     * tree of signal snapshots sent to new subscribers.
+     *
+     * @param objectMapper the mapper used by the signal
+     * @param value        the value to convert
+     * @return the JSON tree of the value
+     */
+    public static JsonNode internalSignal_valueToTree(ObjectMapper objectMapper, Object value) {
+        if (value instanceof SignalCommand.SnapshotCommand snapshot) {
+            return SignalSnapshotCache.toTree(objectMapper, snapshot);
+        }
+        return objectMapper.valueToTree(value);
+    }
+
+    /**
+     * Replacement for {@link Method#invoke(Object, Object...)} in Hilla {@code EndpointInvoker}, that calls endpoint
+     * methods through invokers generated at build time.
+     *
+     * @param method    the endpoint method
+     * @param endpoint  the endpoint instance
+     * @param arguments the method arguments
+     * @return the value returned by the method
+     * @throws IllegalAccessException    if the method cannot be called reflectively
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    public static Object endpointInvoker_invoke(Method method, Object endpoint, Object[] arguments)
+            throws IllegalAccessException, InvocationTargetException {
+        return EndpointMethodInvokers.invoke(method, endpoint, arguments);
+    }
 }
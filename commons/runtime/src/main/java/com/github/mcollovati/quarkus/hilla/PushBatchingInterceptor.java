@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.atmosphere.cpr.Action;
+import org.atmosphere.cpr.AsyncIOWriter;
+import org.atmosphere.cpr.AtmosphereConfig;
+import org.atmosphere.cpr.AtmosphereInterceptorAdapter;
+import org.atmosphere.cpr.AtmosphereResource;
+import org.atmosphere.cpr.AtmosphereResponse;
+import org.atmosphere.cpr.HeaderConfig;
+import org.atmosphere.interceptor.HeartbeatInterceptor;
+import org.atmosphere.interceptor.InvokationOrder;
+import org.atmosphere.util.ExecutorsFactory;
+import org.atmosphere.util.Utils;
+
+/**
+ * Atmosphere interceptor that batches the push messages sent to a WebSocket
+ * connection.
+ * <p>
+ * Messages written to the connection within a short delay of each other are
+ * sent as a single frame, up to a maximum number of messages per frame; see
+ * {@link #MAX_ITEMS} and {@link #MAX_DELAY_MILLIS}. Batching relies on the
+ * message length tracking requested by the Hilla client, so connections
+ * without it are left untouched. The interceptor must run after
+ * {@link org.atmosphere.client.TrackMessageSizeInterceptor}.
+ */
+public class PushBatchingInterceptor extends AtmosphereInterceptorAdapter {
+
+    /**
+     * Init parameter for the maximum number of messages sent in a single
+     * frame. Values lower than 2 disable batching.
+     */
+    public static final String MAX_ITEMS = "com.github.mcollovati.quarkus.hilla.PushBatchingInterceptor.maxItems";
+
+    /**
+     * Init parameter for the maximum time, in milliseconds, a message waits
+     * for other messages to be sent with.
+     */
+    public static final String MAX_DELAY_MILLIS =
+            "com.github.mcollovati.quarkus.hilla.PushBatchingInterceptor.maxDelayMillis";
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private AtmosphereConfig config;
+    private int maxItems;
+    private long maxDelayMillis;
+    private volatile ScheduledExecutorService scheduler;
+
+    @Override
+    public void configure(AtmosphereConfig config) {
+        this.config = config;
+        this.maxItems = config.getInitParameter(MAX_ITEMS, 0);
+        this.maxDelayMillis = config.getInitParameter(MAX_DELAY_MILLIS, 10);
+    }
+
+    @Override
+    public Action inspect(AtmosphereResource r) {
+        if (maxItems > 1
+                && r.transport() == AtmosphereResource.TRANSPORT.WEBSOCKET
+                && !Utils.webSocketMessage(r)
+                && Boolean.parseBoolean(r.getRequest().getHeader(HeaderConfig.X_ATMOSPHERE_TRACKMESSAGESIZE))) {
+            AtmosphereResponse response = r.getResponse();
+            AsyncIOWriter writer = response.getAsyncIOWriter();
+            if (writer != null && !(writer instanceof PushBatchingWriter)) {
+                response.asyncIOWriter(new PushBatchingWriter(
+                        writer, maxItems, maxDelayMillis, this::scheduler, heartbeatPadding(), messages, frames));
+            }
+        }
+        return Action.CONTINUE;
+    }
+
+    @Override
+    public InvokationOrder.PRIORITY priority() {
+        return InvokationOrder.AFTER_DEFAULT;
+    }
+
+    /**
+     * Gets the number of push messages sent through batching writers.
+     *
+     * @return the number of messages
+     */
+    public long getMessageCount() {
+        return messages.sum();
+    }
+
+    /**
+     * Gets the number of frames used to send the push messages.
+     *
+     * @return the number of frames
+     */
+    public long getFrameCount() {
+        return frames.sum();
+    }
+
+    private String heartbeatPadding() {
+        HeartbeatInterceptor heartbeat = config.framework().interceptor(HeartbeatInterceptor.class);
+        return heartbeat != null ? new String(heartbeat.getPaddingBytes()) : null;
+    }
+
+    private ScheduledExecutorService scheduler() {
+        // the scheduler is shared with the Atmosphere framework; get it
+        // lazily so that no thread is started during static init
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            current = ExecutorsFactory.getScheduler(config);
+            scheduler = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "Hilla push message batching";
+    }
+}
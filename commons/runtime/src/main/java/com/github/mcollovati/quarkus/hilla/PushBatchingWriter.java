@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.atmosphere.client.TrackMessageSizeInterceptor;
+import org.atmosphere.cpr.AsyncIOWriter;
+import org.atmosphere.cpr.AtmosphereRequest;
+import org.atmosphere.cpr.AtmosphereResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer that packs the push messages written within a short time window
+ * into a single frame.
+ * <p>
+ * Every message in a batch is prefixed with its length, in the same
+ * {@code length|message} format produced by {@link TrackMessageSizeInterceptor},
+ * so the Atmosphere client splits the frame back into the original messages.
+ * A batch is written when it reaches the maximum number of messages or when
+ * the delay since its first message expires. A batch made of a single message
+ * is written as is and gets the length prefix from the interceptor.
+ * <p>
+ * Heartbeat padding is recognized the same way the interceptor does and is
+ * written right away, after the pending messages, without a length prefix.
+ */
+final class PushBatchingWriter implements AsyncIOWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PushBatchingWriter.class);
+    private static final String DELIMITER = "|";
+
+    private final AsyncIOWriter delegate;
+    private final int maxItems;
+    private final long maxDelayMillis;
+    private final Supplier<ScheduledExecutorService> scheduler;
+    private final String heartbeatPadding;
+    private final LongAdder messages;
+    private final LongAdder frames;
+    private final List<String> pending = new ArrayList<>();
+    private AtmosphereResponse pendingResponse;
+    private ScheduledFuture<?> flushTask;
+
+    PushBatchingWriter(
+            AsyncIOWriter delegate,
+            int maxItems,
+            long maxDelayMillis,
+            Supplier<ScheduledExecutorService> scheduler,
+            String heartbeatPadding,
+            LongAdder messages,
+            LongAdder frames) {
+        this.delegate = delegate;
+        this.maxItems = maxItems;
+        this.maxDelayMillis = maxDelayMillis;
+        this.scheduler = scheduler;
+        this.heartbeatPadding = heartbeatPadding;
+        this.messages = messages;
+        this.frames = frames;
+    }
+
+    @Override
+    public AsyncIOWriter write(AtmosphereResponse response, String data) throws IOException {
+        enqueue(response, data);
+        return this;
+    }
+
+    @Override
+    public AsyncIOWriter write(AtmosphereResponse response, byte[] data) throws IOException {
+        return write(response, data, 0, data.length);
+    }
+
+    @Override
+    public AsyncIOWriter write(AtmosphereResponse response, byte[] data, int offset, int length) throws IOException {
+        enqueue(response, new String(data, offset, length, StandardCharsets.UTF_8));
+        return this;
+    }
+
+    @Override
+    public AsyncIOWriter redirect(AtmosphereResponse response, String location) throws IOException {
+        delegate.redirect(response, location);
+        return this;
+    }
+
+    @Override
+    public AsyncIOWriter writeError(AtmosphereResponse response, int errorCode, String message) throws IOException {
+        delegate.writeError(response, errorCode, message);
+        return this;
+    }
+
+    @Override
+    public synchronized AsyncIOWriter flush(AtmosphereResponse response) throws IOException {
+        writePending();
+        delegate.flush(response);
+        return this;
+    }
+
+    @Override
+    public void close(AtmosphereResponse response) throws IOException {
+        try {
+            synchronized (this) {
+                writePending();
+            }
+        } finally {
+            delegate.close(response);
+        }
+    }
+
+    private synchronized void enqueue(AtmosphereResponse response, String data) throws IOException {
+        if (isPadding(data)) {
+            // padding and heartbeats are not messages for the client and must
+            // not get a length prefix
+            writePending();
+            delegate.write(response, data);
+            return;
+        }
+        pending.add(data);
+        pendingResponse = response;
+        if (pending.size() >= maxItems) {
+            writePending();
+        } else if (flushTask == null) {
+            flushTask = scheduler.get().schedule(this::flushPending, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean isPadding(String data) {
+        // same checks as TrackMessageSizeInterceptor
+        if (data.isBlank()) {
+            return true;
+        }
+        return heartbeatPadding != null
+                && (data.equals(heartbeatPadding) || data.endsWith(DELIMITER + heartbeatPadding));
+    }
+
+    private synchronized void flushPending() {
+        flushTask = null;
+        try {
+            writePending();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.debug("Cannot write batched push messages", ex);
+        }
+    }
+
+    private void writePending() throws IOException {
+        cancelFlushTask();
+        if (pending.isEmpty()) {
+            return;
+        }
+        AtmosphereResponse response = pendingResponse;
+        int count = pending.size();
+        String frame = count == 1 ? pending.get(0) : encode(pending);
+        pending.clear();
+        pendingResponse = null;
+        messages.add(count);
+        frames.increment();
+        if (count == 1) {
+            delegate.write(response, frame);
+            return;
+        }
+        AtmosphereRequest request = response.request();
+        request.setAttribute(TrackMessageSizeInterceptor.SKIP_INTERCEPTOR, Boolean.TRUE);
+        try {
+            delegate.write(response, frame);
+        } finally {
+            request.removeAttribute(TrackMessageSizeInterceptor.SKIP_INTERCEPTOR);
+        }
+    }
+
+    private void cancelFlushTask() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+    }
+
+    private static String encode(List<String> messages) {
+        int size = 0;
+        for (String message : messages) {
+            size += message.length() + 8;
+        }
+        StringBuilder frame = new StringBuilder(size);
+        for (String message : messages) {
+            frame.append(message.length()).append(DELIMITER).append(message);
+        }
+        return frame.toString();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.util.RawValue;
+
+/**
+ * Bounded buffer between an endpoint stream and a push subscriber.
+ * <p>
+ * Hilla subscribes to endpoint streams with unbounded demand and writes
+ * every item to the push connection on the thread that delivers it. The
+ * buffer decouples the stream from the connection: items are queued and sent
+ * by a single drain task on the executor, and when the queue exceeds the
+ * configured limits the overflow policy decides which items are discarded.
+ * <p>
+ * When a byte limit is set, items are serialized when they are queued and
+ * sent as raw JSON, so they are serialized only once. Their size is
+ * approximated by the length of the JSON text.
+ */
+final class PushBuffer {
+
+    private PushBuffer() {}
+
+    static Flux<Object> apply(
+            Flux<?> source,
+            PushBufferSettings settings,
+            Executor executor,
+            ObjectMapper objectMapper,
+            PushBufferMetrics.Counters counters) {
+        return Flux.create(sink -> {
+            BufferingSubscriber subscriber =
+                    new BufferingSubscriber(sink, settings, executor, objectMapper, counters);
+            sink.onDispose(subscriber::discard);
+            source.subscribe(subscriber);
+        });
+    }
+
+    private static final class BufferingSubscriber extends BaseSubscriber<Object> {
+
+        private final FluxSink<Object> sink;
+        private final PushBufferSettings settings;
+        private final Executor executor;
+        private final ObjectMapper objectMapper;
+        private final PushBufferMetrics.Counters counters;
+        private final AtomicInteger wip = new AtomicInteger();
+        // guarded by queue
+        private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+        private long queuedBytes;
+        private boolean done;
+        private Throwable error;
+
+        private BufferingSubscriber(
+                FluxSink<Object> sink,
+                PushBufferSettings settings,
+                Executor executor,
+                ObjectMapper objectMapper,
+                PushBufferMetrics.Counters counters) {
+            this.sink = sink;
+            this.settings = settings;
+            this.executor = executor;
+            this.objectMapper = objectMapper;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            requestUnbounded();
+        }
+
+        @Override
+        protected void hookOnNext(Object item) {
+            Entry entry = entryOf(item);
+            boolean overflow = false;
+            synchronized (queue) {
+                if (done) {
+                    return;
+                }
+                if (isFull(entry)) {
+                    switch (settings.overflow()) {
+                        case DROP_OLDEST -> {
+                            while (!queue.isEmpty() && isFull(entry)) {
+                                dropped(queue.poll());
+                            }
+                        }
+                        case DROP_LATEST -> {
+                            dropped(null);
+                            return;
+                        }
+                        case CONFLATE_LATEST -> {
+                            while (!queue.isEmpty()) {
+                                dropped(queue.poll());
+                            }
+                        }
+                        case ERROR -> {
+                            while (!queue.isEmpty()) {
+                                dropped(queue.poll());
+                            }
+                            done = true;
+                            error = new IllegalStateException("Push buffer overflow");
+                            overflow = true;
+                        }
+                    }
+                }
+                if (!done) {
+                    queue.add(entry);
+                    queuedBytes += entry.size();
+                    counters.queued.incrementAndGet();
+                }
+            }
+            if (overflow) {
+                cancel();
+            }
+            drain();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            terminate(null);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            terminate(throwable);
+        }
+
+        private void terminate(Throwable throwable) {
+            synchronized (queue) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                error = throwable;
+            }
+            drain();
+        }
+
+        private boolean isFull(Entry entry) {
+            return (settings.maxItems() > 0 && queue.size() >= settings.maxItems())
+                    || (settings.maxBytes() > 0 && !queue.isEmpty() && queuedBytes + entry.size() > settings.maxBytes());
+        }
+
+        private void dropped(Entry entry) {
+            if (entry != null) {
+                queuedBytes -= entry.size();
+                counters.queued.decrementAndGet();
+            }
+            counters.dropped.increment();
+        }
+
+        private Entry entryOf(Object item) {
+            if (settings.maxBytes() > 0) {
+                String json = objectMapper.writeValueAsString(item);
+                return new Entry(new RawValue(json), json.length());
+            }
+            return new Entry(item, 0);
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drainLoop);
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            while (true) {
+                while (true) {
+                    Entry entry;
+                    boolean terminated;
+                    Throwable failure;
+                    synchronized (queue) {
+                        entry = queue.poll();
+                        if (entry != null) {
+                            queuedBytes -= entry.size();
+                            counters.queued.decrementAndGet();
+                        }
+                        terminated = done && queue.isEmpty();
+                        failure = error;
+                    }
+                    if (sink.isCancelled()) {
+                        return;
+                    }
+                    if (entry != null) {
+                        sink.next(entry.value());
+                    } else {
+                        if (terminated) {
+                            if (failure != null) {
+                                sink.error(failure);
+                            } else {
+                                sink.complete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void discard() {
+            cancel();
+            synchronized (queue) {
+                counters.queued.addAndGet(-queue.size());
+                queue.clear();
+                queuedBytes = 0;
+                done = true;
+            }
+        }
+    }
+
+    private record Entry(Object value, long size) {}
+}
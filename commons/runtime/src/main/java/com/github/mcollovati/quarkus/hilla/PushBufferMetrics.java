@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the state of push subscription buffers per endpoint method.
+ * <p>
+ * Methods are identified by {@code endpoint.method}, with lower case names.
+ */
+public final class PushBufferMetrics {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    PushBufferMetrics() {}
+
+    Counters counters(String endpointName, String methodName) {
+        return counters.computeIfAbsent(key(endpointName, methodName), unused -> new Counters());
+    }
+
+    /**
+     * Gets the endpoint methods for which push items have been buffered.
+     *
+     * @return the method keys, as {@code endpoint.method}
+     */
+    public Set<String> getEndpointMethods() {
+        return Set.copyOf(counters.keySet());
+    }
+
+    /**
+     * Gets the number of items currently waiting to be sent to the
+     * subscribers of the given endpoint method.
+     *
+     * @param endpointName the name of the endpoint, not case-sensitive
+     * @param methodName   the name of the method, not case-sensitive
+     * @return the queue depth, summed over all the subscriptions
+     */
+    public long getQueueDepth(String endpointName, String methodName) {
+        Counters methodCounters = counters.get(key(endpointName, methodName));
+        return methodCounters != null ? methodCounters.queued.get() : 0;
+    }
+
+    /**
+     * Gets the number of items discarded by the overflow policy for the
+     * subscribers of the given endpoint method.
+     *
+     * @param endpointName the name of the endpoint, not case-sensitive
+     * @param methodName   the name of the method, not case-sensitive
+     * @return the number of dropped items
+     */
+    public long getDroppedCount(String endpointName, String methodName) {
+        Counters methodCounters = counters.get(key(endpointName, methodName));
+        return methodCounters != null ? methodCounters.dropped.sum() : 0;
+    }
+
+    private static String key(String endpointName, String methodName) {
+        return endpointName.toLowerCase(Locale.ENGLISH) + "." + methodName.toLowerCase(Locale.ENGLISH);
+    }
+
+    static final class Counters {
+        final AtomicLong queued = new AtomicLong();
+        final LongAdder dropped = new LongAdder();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+/**
+ * Limits applied to the items waiting to be sent to a single push
+ * subscriber.
+ *
+ * @param maxItems the maximum number of buffered items, or {@literal 0} for
+ *                 no limit
+ * @param maxBytes the maximum size of the buffered items once serialized, or
+ *                 {@literal 0} for no limit
+ * @param overflow the policy applied when a limit is exceeded
+ */
+public record PushBufferSettings(int maxItems, long maxBytes, SharedSubscription.Overflow overflow) {
+
+    /**
+     * Settings that disable buffering: items are sent to the subscriber on the
+     * thread emitting them.
+     */
+    public static final PushBufferSettings DISABLED =
+            new PushBufferSettings(0, 0, SharedSubscription.Overflow.DROP_OLDEST);
+
+    /**
+     * Checks if items are buffered.
+     *
+     * @return {@literal true} if at least one limit is set, otherwise
+     * {@literal false}
+     */
+    public boolean isEnabled() {
+        return maxItems > 0 || maxBytes > 0;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.util.AnnotationLiteral;
+import jakarta.servlet.ServletConfig;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.quarkus.virtual.threads.VirtualThreads;
+import org.atmosphere.cpr.AtmosphereFramework;
+import org.atmosphere.util.ExecutorsFactory;
+
+import com.github.mcollovati.quarkus.hilla.HillaConfiguration.PushConfig.ExecutorType;
+
+/**
+ * Executor that runs Atmosphere message dispatch and asynchronous write tasks
+ * on Quarkus managed virtual threads.
+ * <p>
+ * Atmosphere normally creates its own thread pools for push. When
+ * {@code vaadin.hilla.push.executor} is set to {@code virtual-threads}, the
+ * pools are replaced by instances of this class, which forward tasks to the
+ * Quarkus virtual threads executor. Shutting down the executor only stops it
+ * from accepting tasks, the Quarkus executor is left untouched.
+ * <p>
+ * Each Atmosphere broadcaster keeps a dispatch task running on the message
+ * dispatch executor, and one on the asynchronous write executor, for its
+ * whole life. Tasks are therefore never queued behind a concurrency limit,
+ * as a limit lower than twice the number of broadcasters would stop message
+ * delivery. For the same reason the Quarkus worker pool is not supported,
+ * since every broadcaster would hold two of its threads.
+ */
+public final class PushExecutor extends AbstractExecutorService {
+
+    /**
+     * Init parameter selecting the threads used for push tasks.
+     */
+    public static final String EXECUTOR = "com.github.mcollovati.quarkus.hilla.PushExecutor.executor";
+
+    private static volatile PushExecutor messageDispatcher;
+    private static volatile PushExecutor asyncWriter;
+
+    private final Supplier<Executor> executorSupplier;
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile Executor executor;
+    private volatile boolean shutdown;
+
+    PushExecutor(Supplier<Executor> executorSupplier) {
+        this.executorSupplier = executorSupplier;
+    }
+
+    /**
+     * Replaces Atmosphere shared thread pools with Quarkus virtual threads,
+     * if requested by the servlet init parameters.
+     * <p>
+     * Must be called before the framework is initialized.
+     *
+     * @param framework the Atmosphere framework
+     * @param config    the push servlet configuration
+     */
+    static void install(AtmosphereFramework framework, ServletConfig config) {
+        ExecutorType type = Optional.ofNullable(config.getInitParameter(EXECUTOR))
+                .map(ExecutorType::valueOf)
+                .orElse(ExecutorType.ATMOSPHERE);
+        if (type == ExecutorType.ATMOSPHERE) {
+            return;
+        }
+        Supplier<Executor> executorSupplier =
+                () -> CDI.current().select(ExecutorService.class, new VirtualThreadsLiteral()).get();
+        messageDispatcher = new PushExecutor(executorSupplier);
+        asyncWriter = new PushExecutor(executorSupplier);
+        // shared executors found in the config properties are used by all
+        // broadcasters instead of creating new pools
+        framework.sharedThreadPools(true);
+        framework.getAtmosphereConfig().properties().put(ExecutorsFactory.BROADCASTER_THREAD_POOL, messageDispatcher);
+        framework.getAtmosphereConfig().properties().put(ExecutorsFactory.ASYNC_WRITE_THREAD_POOL, asyncWriter);
+    }
+
+    /**
+     * Gets the executor used for Atmosphere message dispatch.
+     *
+     * @return the message dispatch executor, or an empty {@link Optional} if
+     * push uses Atmosphere's own thread pools
+     */
+    public static Optional<PushExecutor> getMessageDispatcher() {
+        return Optional.ofNullable(messageDispatcher);
+    }
+
+    /**
+     * Gets the executor used for Atmosphere asynchronous writes.
+     *
+     * @return the asynchronous write executor, or an empty {@link Optional}
+     * if push uses Atmosphere's own thread pools
+     */
+    public static Optional<PushExecutor> getAsyncWriter() {
+        return Optional.ofNullable(asyncWriter);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Push executor has been shut down");
+        }
+        running.incrementAndGet();
+        try {
+            executor().execute(() -> run(command));
+        } catch (RuntimeException ex) {
+            taskEnded();
+            throw ex;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            completed.increment();
+            taskEnded();
+        }
+    }
+
+    private void taskEnded() {
+        if (running.decrementAndGet() == 0 && shutdown) {
+            terminated.countDown();
+        }
+    }
+
+    private Executor executor() {
+        // resolved on first use, as the push servlet may be initialized
+        // before the Quarkus executors are available
+        Executor current = executor;
+        if (current == null) {
+            current = executorSupplier.get();
+            executor = current;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the number of tasks currently running.
+     *
+     * @return the number of running tasks
+     */
+    public int getActiveCount() {
+        return running.get();
+    }
+
+    /**
+     * Gets the number of tasks that have completed.
+     *
+     * @return the number of completed tasks
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (running.get() == 0) {
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        // tasks are handed over to the Quarkus executors right away, there
+        // are no pending tasks to return
+        shutdown();
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private static final class VirtualThreadsLiteral extends AnnotationLiteral<VirtualThreads>
+            implements VirtualThreads {}
+}
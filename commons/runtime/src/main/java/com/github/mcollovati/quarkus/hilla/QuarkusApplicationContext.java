@@ -19,12 +19,16 @@ import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.AmbiguousResolutionException;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
@@ -41,12 +45,40 @@ import org.springframework.core.io.Resource;
 
 class QuarkusApplicationContext implements ApplicationContext {
 
+    private static final Map<Class<?>, Object> REFERENCES = new ConcurrentHashMap<>();
+    private static volatile Map<String, List<Class<?>>> annotatedBeanClasses = Map.of();
+
     private final BeanManager beanManager;
 
     QuarkusApplicationContext(BeanManager beanManager) {
         this.beanManager = beanManager;
     }
 
+    /**
+     * Sets the classes annotated with the given annotations, collected at build time.
+     * <p>
+     * Beans with one of the annotations are then looked up by class, instead of checking the annotations of every
+     * bean. Annotations not in the map are still checked on every bean.
+     *
+     * @param beanClasses the annotated classes, by annotation name
+     */
+    static void setAnnotatedBeanClasses(Map<String, List<Class<?>>> beanClasses) {
+        annotatedBeanClasses = Map.copyOf(beanClasses);
+    }
+
+    /**
+     * Gets the annotated classes collected at build time.
+     *
+     * @return the annotated classes, for all annotations
+     * @see #setAnnotatedBeanClasses(Map)
+     */
+    static List<Class<?>> getAnnotatedBeanClasses() {
+        return annotatedBeanClasses.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+    }
+
     private static <T> T beanReference(BeanManager beanManager, Bean<?> bean, Class<T> requiredType) {
         final CreationalContext<?> ctx = beanManager.createCreationalContext(bean);
         return requiredType.cast(beanManager.getReference(bean, requiredType, ctx));
@@ -58,6 +90,10 @@ class QuarkusApplicationContext implements ApplicationContext {
     }
 
     static <T> T getBean(BeanManager beanManager, Class<T> requiredType) {
+        Object cached = REFERENCES.get(requiredType);
+        if (cached != null) {
+            return requiredType.cast(cached);
+        }
         Set<Bean<?>> beans = beanManager.getBeans(requiredType, new AnyLiteral());
         if (beans.isEmpty()) {
             throw new NoSuchBeanDefinitionException(requiredType);
@@ -69,7 +105,22 @@ class QuarkusApplicationContext implements ApplicationContext {
             throw new NoUniqueBeanDefinitionException(
                     requiredType, beans.stream().map(Bean::getName).collect(Collectors.toList()));
         }
-        return beanReference(beanManager, bean, requiredType);
+        T reference = beanReference(beanManager, bean, requiredType);
+        // client proxies and singletons can be shared, while dependent beans
+        // must be created again on every lookup
+        if (beanManager.isNormalScope(bean.getScope()) || Singleton.class.equals(bean.getScope())) {
+            REFERENCES.put(requiredType, reference);
+        }
+        return reference;
+    }
+
+    /**
+     * Forgets the bean references cached by {@link #getBean(Class)}.
+     * <p>
+     * Must be called when the CDI container is shut down, so that references are not reused after a dev mode restart.
+     */
+    static void clearBeanCache() {
+        REFERENCES.clear();
     }
 
     @Override
@@ -218,11 +269,19 @@ class QuarkusApplicationContext implements ApplicationContext {
     @Override
     public Map<String, Object> getBeansWithAnnotation(Class<? extends Annotation> annotationType)
             throws BeansException {
-        return beanManager.getBeans(Object.class, new AnyLiteral()).stream()
-                .filter(b -> b.getBeanClass().isAnnotationPresent(annotationType))
-                .collect(Collectors.toMap(
-                        QuarkusApplicationContext::computeBeanName,
-                        bean -> beanReference(beanManager, bean, bean.getBeanClass())));
+        List<Class<?>> beanClasses = annotatedBeanClasses.get(annotationType.getName());
+        Stream<Bean<?>> beans = beanClasses != null
+                ? beanClasses.stream().flatMap(this::beansOfClass)
+                : beanManager.getBeans(Object.class, new AnyLiteral()).stream()
+                        .filter(b -> b.getBeanClass().isAnnotationPresent(annotationType));
+        return beans.collect(Collectors.toMap(
+                QuarkusApplicationContext::computeBeanName,
+                bean -> beanReference(beanManager, bean, bean.getBeanClass())));
+    }
+
+    private Stream<Bean<?>> beansOfClass(Class<?> beanClass) {
+        return beanManager.getBeans(beanClass, new AnyLiteral()).stream()
+                .filter(bean -> bean.getBeanClass() == beanClass);
     }
 
     @Override
@@ -43,6 +43,12 @@ public class QuarkusAtmosphereServlet extends AtmosphereServlet {
             super(isFilter, autoDetectHandlers);
         }
 
+        @Override
+        public AtmosphereFramework init(ServletConfig sc, boolean wrap) throws ServletException {
+            PushExecutor.install(this, sc);
+            return super.init(sc, wrap);
+        }
+
         @Override
         protected void analytics() {}
     }
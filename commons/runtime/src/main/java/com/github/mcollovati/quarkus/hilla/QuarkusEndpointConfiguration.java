@@ -42,6 +42,61 @@ public interface QuarkusEndpointConfiguration {
     @WithDefault(DEFAULT_ENDPOINT_PREFIX)
     String getEndpointPrefix();
 
+    /**
+     * Enables streaming of endpoint results.
+     * <p>
+     * When enabled, the value returned by an endpoint method is serialized
+     * straight into the HTTP response output stream, rather than being
+     * converted to a String first. Large payloads are then sent using chunked
+     * transfer encoding. Multipart requests are not affected.
+     *
+     * @return true if endpoint results should be streamed, default is false
+     */
+    @WithName("streaming-response")
+    @WithDefault("false")
+    boolean isStreamingResponse();
+
+    /**
+     * Runs all endpoint method invocations on virtual threads.
+     * <p>
+     * This applies to both regular endpoint calls and to the scheduling of
+     * {@code Multi} subscriptions. When disabled, single endpoints or methods
+     * can still opt in with the {@code @RunOnVirtualThread} annotation.
+     *
+     * @return true if all endpoints should run on virtual threads, default is false
+     */
+    @WithName("virtual-threads")
+    @WithDefault("false")
+    boolean isVirtualThreads();
+
+    /**
+     * Resolves the JSON serializers and deserializers of endpoint parameter
+     * and return types at startup.
+     * <p>
+     * Jackson otherwise introspects each type when a value of that type is
+     * first sent or received, which slows down the first endpoint calls.
+     * Enabling this option moves that work to application startup.
+     *
+     * @return true if serializers should be resolved at startup, default is false
+     */
+    @WithName("warm-up")
+    @WithDefault("false")
+    boolean isWarmUp();
+
+    /**
+     * Collects invocation counts and elapsed time of the HTTP security checks
+     * performed for Hilla requests.
+     * <p>
+     * Meant for diagnostics: timing every check adds some overhead to each
+     * request.
+     *
+     * @return true if security check timings should be collected, default is false
+     * @see com.github.mcollovati.quarkus.hilla.security.SecurityCheckTimings
+     */
+    @WithName("security-check-timings")
+    @WithDefault("false")
+    boolean isSecurityCheckTimings();
+
     /**
      * It is the same as {@link #getEndpointPrefix()} but ensures a starting slash and removes a trailing slash.
      * @return the trimmed endpoint prefix, default is "/connect"
@@ -18,6 +18,7 @@ package com.github.mcollovati.quarkus.hilla;
 import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
@@ -27,11 +28,16 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.io.IOException;
+import java.io.InputStream;
 
 import com.vaadin.hilla.EndpointController;
+import com.vaadin.hilla.EndpointInvoker;
+import io.smallrye.common.annotation.Blocking;
 import io.smallrye.common.annotation.Identifier;
+import io.smallrye.mutiny.Uni;
 import org.jboss.resteasy.reactive.server.multipart.MultipartFormDataInput;
-import org.springframework.http.ResponseEntity;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.node.ObjectNode;
 
@@ -44,12 +50,21 @@ public class QuarkusEndpointController {
 
     private final EndpointController delegate;
     private final ObjectMapper objectMapper;
+    private final EndpointRequestHandler requestHandler;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
 
     @Inject
     public QuarkusEndpointController(
-            EndpointController delegate, @Identifier("hillaEndpointObjectMapper") ObjectMapper objectMapper) {
+            EndpointController delegate,
+            @Identifier("hillaEndpointObjectMapper") ObjectMapper objectMapper,
+            EndpointInvoker endpointInvoker,
+            QuarkusEndpointConfiguration endpointConfiguration,
+            VirtualThreadDispatcher virtualThreadDispatcher) {
         this.delegate = delegate;
         this.objectMapper = objectMapper;
+        this.requestHandler = new EndpointRequestHandler(
+                delegate, endpointInvoker, objectMapper, endpointConfiguration.isStreamingResponse());
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
         QuarkusHillaExtension.markUsed();
     }
 
@@ -64,6 +79,14 @@ public class QuarkusEndpointController {
      * <p>
      * If an issue occurs during the request processing, an error response is
      * returned instead of the serialized Java method return value.
+     * <p>
+     * Methods returning a {@link Uni} or a {@link java.util.concurrent.CompletionStage}
+     * are served asynchronously: the request thread is released as soon as the
+     * method returns, and the response is written when the result completes.
+     * When {@code vaadin.endpoint.streaming-response} is enabled, the result is
+     * serialized directly into the response output stream.
+     * Methods selected by the {@link VirtualThreadDispatcher} are executed on a
+     * virtual thread.
      *
      * @param endpointName the name of an endpoint to address the calls to, not case
      *                     sensitive
@@ -77,22 +100,19 @@ public class QuarkusEndpointController {
     @POST
     @Path(ENDPOINT_METHODS)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response serveEndpoint(
+    @Blocking
+    public Uni<Response> serveEndpoint(
             @PathParam("endpoint") String endpointName,
             @PathParam("method") String methodName,
             @Context HttpServletRequest request,
             @Context HttpServletResponse response,
-            com.fasterxml.jackson.databind.node.ObjectNode body) {
-
-        ObjectNode jackson3Node;
-        if (body == null) {
-            jackson3Node = null;
-        } else {
-            jackson3Node = objectMapper.readerFor(ObjectNode.class).readValue(body.toString());
+            InputStream body) {
+        ObjectNode jsonBody = readBody(body);
+        if (virtualThreadDispatcher.isEnabled(endpointName, methodName)) {
+            return virtualThreadDispatcher.dispatch(
+                    () -> requestHandler.serve(endpointName, methodName, jsonBody, request, response));
         }
-        ResponseEntity<String> endpointResponse =
-                delegate.serveEndpoint(endpointName, methodName, jackson3Node, request, response);
-        return buildResponse(endpointResponse);
+        return requestHandler.serve(endpointName, methodName, jsonBody, request, response);
     }
 
     /**
@@ -100,7 +120,7 @@ public class QuarkusEndpointController {
      * used when there are uploaded files.
      * <p>
      * This method works as
-     * {@link #serveEndpoint(String, String, HttpServletRequest, HttpServletResponse, com.fasterxml.jackson.databind.node.ObjectNode)},
+     * {@link #serveEndpoint(String, String, HttpServletRequest, HttpServletResponse, InputStream)},
      * but it also captures the files uploaded in the request.
      *
      * @param endpointName the name of an endpoint to address the calls to, not case
@@ -123,18 +143,32 @@ public class QuarkusEndpointController {
             @Context HttpServletResponse response,
             MultipartFormDataInput formData)
             throws IOException {
-        ResponseEntity<String> endpointResponse = delegate.serveMultipartEndpoint(
-                endpointName, methodName, new MultipartRequest(request, formData), response);
-        return buildResponse(endpointResponse);
+        return EndpointRequestHandler.buildResponse(delegate.serveMultipartEndpoint(
+                endpointName, methodName, new MultipartRequest(request, formData), response));
     }
 
-    private static Response buildResponse(ResponseEntity<String> endpointResponse) {
-        Response.ResponseBuilder builder =
-                Response.status(endpointResponse.getStatusCode().value());
-        endpointResponse.getHeaders().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
-        if (endpointResponse.hasBody()) {
-            builder.entity(endpointResponse.getBody());
+    /*
+     * Reads the raw request body directly into the endpoint object mapper tree,
+     * so that the payload is parsed only once and no intermediate String
+     * representation is created.
+     * An empty body is treated as a call without parameters.
+     */
+    private ObjectNode readBody(InputStream body) {
+        if (body == null) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(body);
+        } catch (JacksonException ex) {
+            throw new BadRequestException("Invalid endpoint request body", ex);
+        }
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        if (node instanceof ObjectNode objectNode) {
+            return objectNode;
         }
-        return builder.build();
+        throw new BadRequestException("Endpoint request body must be a JSON object");
     }
 }
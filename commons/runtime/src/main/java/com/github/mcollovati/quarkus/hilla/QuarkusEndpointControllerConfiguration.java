@@ -16,12 +16,17 @@
 package com.github.mcollovati.quarkus.hilla;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.inject.Singleton;
 import jakarta.servlet.ServletContext;
+import java.util.concurrent.ExecutorService;
+import javax.sql.DataSource;
 
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.flow.server.auth.AccessAnnotationChecker;
@@ -47,14 +52,23 @@ import com.vaadin.hilla.startup.RouteUnifyingServiceInitListener;
 import com.vaadin.quarkus.annotation.VaadinServiceEnabled;
 import io.quarkus.arc.DefaultBean;
 import io.quarkus.arc.Unremovable;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.virtual.threads.VirtualThreads;
 import io.smallrye.common.annotation.Identifier;
+import io.vertx.core.Vertx;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
 import org.springframework.context.ApplicationContext;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.MapperFeature;
 import tools.jackson.databind.ObjectMapper;
 
+import com.github.mcollovati.quarkus.hilla.signals.FileSignalStore;
+import com.github.mcollovati.quarkus.hilla.signals.JdbcSignalStore;
+import com.github.mcollovati.quarkus.hilla.signals.PersistentSignals;
+import com.github.mcollovati.quarkus.hilla.signals.SignalStore;
+
 @Unremovable
 class QuarkusEndpointControllerConfiguration {
 
@@ -148,14 +162,90 @@ class QuarkusEndpointControllerConfiguration {
             ExplicitNullableTypeChecker explicitNullableTypeChecker,
             ServletContext servletContext,
             EndpointRegistry endpointRegistry,
-            ManagedExecutor executor) {
+            ManagedExecutor executor,
+            VirtualThreadDispatcher virtualThreadDispatcher,
+            HillaConfiguration configuration) {
         return new QuarkusEndpointInvoker(
                 applicationContext,
                 objectMapper,
                 explicitNullableTypeChecker,
                 servletContext,
                 endpointRegistry,
-                executor);
+                executor,
+                virtualThreadDispatcher,
+                configuration.push().buffer().settings());
+    }
+
+    /**
+     * Registers the dispatcher that runs selected endpoint methods on virtual
+     * threads.
+     *
+     * @param endpointRegistry       the endpoint registry
+     * @param endpointConfiguration  the endpoint configuration
+     * @param virtualThreadsExecutor the Quarkus virtual threads executor
+     * @param threadContext          the thread context used to propagate CDI and security context
+     * @return the virtual thread dispatcher
+     */
+    @Produces
+    @Singleton
+    VirtualThreadDispatcher virtualThreadDispatcher(
+            EndpointRegistry endpointRegistry,
+            QuarkusEndpointConfiguration endpointConfiguration,
+            @VirtualThreads ExecutorService virtualThreadsExecutor,
+            ThreadContext threadContext) {
+        return new VirtualThreadDispatcher(
+                endpointRegistry, endpointConfiguration.isVirtualThreads(), virtualThreadsExecutor, threadContext);
+    }
+
+    void clearVirtualThreadDecisions(
+            @Observes EndpointsRegisteredEvent event, VirtualThreadDispatcher virtualThreadDispatcher) {
+        virtualThreadDispatcher.clear();
+    }
+
+    /**
+     * Creates the store keeping the state of persistent signals, according to
+     * the {@code vaadin.hilla.signals.*} configuration.
+     *
+     * @param configuration the signals configuration
+     * @param dataSource    the default datasource, used by the JDBC store
+     * @return the signal store
+     */
+    @Produces
+    @Singleton
+    @DefaultBean
+    SignalStore signalStore(SignalsConfiguration configuration, Instance<DataSource> dataSource) {
+        if (configuration.store() == SignalsConfiguration.StoreType.JDBC) {
+            return new JdbcSignalStore(dataSource.get());
+        }
+        return new FileSignalStore(configuration.directory().toAbsolutePath());
+    }
+
+    /**
+     * Creates the registry of persistent signals, releasing idle signals
+     * periodically.
+     *
+     * @param store         the signal store
+     * @param objectMapper  the endpoint object mapper
+     * @param configuration the signals configuration
+     * @param vertx         the Vert.x instance
+     * @param executor      the executor writing signal changes to the store
+     * @return the persistent signals
+     */
+    @Produces
+    @Singleton
+    @DefaultBean
+    PersistentSignals persistentSignals(
+            SignalStore store,
+            @Identifier("hillaEndpointObjectMapper") ObjectMapper objectMapper,
+            SignalsConfiguration configuration,
+            Vertx vertx,
+            ManagedExecutor executor) {
+        PersistentSignals signals = new PersistentSignals(
+                store, objectMapper, configuration.compactAfter(), configuration.idleTimeout(), executor);
+        long timerId = vertx.setPeriodic(
+                Math.max(1000, configuration.idleTimeout().toMillis() / 2), ignored -> signals.evictIdle());
+        signals.onClose(() -> vertx.cancelTimer(timerId));
+        return signals;
     }
 
     @Produces
@@ -170,6 +260,15 @@ class QuarkusEndpointControllerConfiguration {
                 .build();
     }
 
+    void warmUpEndpointObjectMapper(
+            @Observes StartupEvent event,
+            QuarkusEndpointConfiguration endpointConfiguration,
+            @Identifier("hillaEndpointObjectMapper") Instance<ObjectMapper> objectMapper) {
+        if (endpointConfiguration.isWarmUp()) {
+            EndpointObjectMapperWarmUp.warmUp(objectMapper.get(), QuarkusApplicationContext.getAnnotatedBeanClasses());
+        }
+    }
+
     @Produces
     @ApplicationScoped
     @DefaultBean
@@ -197,6 +296,14 @@ class QuarkusEndpointControllerConfiguration {
         return applicationContext;
     }
 
+    void disposePersistentSignals(@Disposes PersistentSignals signals) {
+        signals.close();
+    }
+
+    void disposeApplicationContext(@Disposes ApplicationContext applicationContext) {
+        QuarkusApplicationContext.clearBeanCache();
+    }
+
     @Produces
     @Singleton
     @DefaultBean
@@ -212,8 +319,15 @@ class QuarkusEndpointControllerConfiguration {
             EndpointRegistry endpointRegistry,
             EndpointInvoker endpointInvoker,
             CsrfChecker csrfChecker,
-            @Identifier("hillaEndpointObjectMapper") ObjectMapper objectMapper) {
-        return new EndpointController(context, endpointRegistry, endpointInvoker, csrfChecker, objectMapper);
+            @Identifier("hillaEndpointObjectMapper") ObjectMapper objectMapper,
+            Event<EndpointsRegisteredEvent> endpointsRegistered) {
+        return new EndpointController(context, endpointRegistry, endpointInvoker, csrfChecker, objectMapper) {
+            @Override
+            public void registerEndpoints() {
+                super.registerEndpoints();
+                endpointsRegistered.fire(new EndpointsRegisteredEvent());
+            }
+        };
     }
 
     @Produces
@@ -17,6 +17,8 @@ package com.github.mcollovati.quarkus.hilla;
 
 import jakarta.servlet.ServletContext;
 import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import com.vaadin.hilla.EndpointInvocationException;
@@ -25,9 +27,10 @@ import com.vaadin.hilla.EndpointRegistry;
 import com.vaadin.hilla.EndpointSubscription;
 import com.vaadin.hilla.ExplicitNullableTypeChecker;
 import io.smallrye.mutiny.Multi;
-import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.Context;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.springframework.context.ApplicationContext;
+import reactor.adapter.JdkFlowAdapter;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
@@ -40,10 +43,33 @@ import tools.jackson.databind.node.ObjectNode;
  * Implemented transformations:
  * - Multi -> Flux
  * </p>
+ * The {@code Multi} is subscribed as a Reactive Streams publisher, so demand
+ * and cancellation are propagated to it. The subscription is made on the
+ * executor, while items are delivered on the thread that emits them, unless
+ * it is a Vert.x event loop thread, which must not be blocked by push writes.
+ * <p>
+ * Subscriptions of endpoint methods selected by the {@link VirtualThreadDispatcher}
+ * are scheduled on virtual threads. Streams of methods annotated with
+ * {@link SharedSubscription} are multicast to all the matching subscribers.
+ * <p>
+ * When {@link PushBufferSettings} limits are configured, items are queued in
+ * a bounded buffer per subscription and sent from the executor, so that slow
+ * push connections neither block the stream nor accumulate items without
+ * limit.
+ * <p>
+ * Other results are handed to {@link EndpointRequestHandler}, which writes
+ * the response itself for asynchronous and streamed results.
  */
 public class QuarkusEndpointInvoker extends EndpointInvoker {
 
+    private final Executor executor;
     private final Scheduler scheduler;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
+    private final Scheduler virtualThreadScheduler;
+    private final SharedSubscriptions sharedSubscriptions;
+    private final ObjectMapper endpointObjectMapper;
+    private final PushBufferSettings pushBufferSettings;
+    private final PushBufferMetrics pushBufferMetrics = new PushBufferMetrics();
 
     /**
      * Creates an instance of this bean.
@@ -54,6 +80,11 @@ public class QuarkusEndpointInvoker extends EndpointInvoker {
      *                                    that null values are explicit
      * @param servletContext              the servlet context
      * @param endpointRegistry            the registry used to store endpoint information
+     * @param executor                    the executor for subscriptions of platform thread endpoints
+     * @param virtualThreadDispatcher     the dispatcher that selects endpoint methods running on virtual
+     *                                    threads, may be {@literal null}
+     * @param pushBufferSettings          the limits of the buffers of push subscriptions, may be
+     *                                    {@literal null} to disable buffering
      */
     public QuarkusEndpointInvoker(
             ApplicationContext applicationContext,
@@ -61,9 +92,18 @@ public class QuarkusEndpointInvoker extends EndpointInvoker {
             ExplicitNullableTypeChecker explicitNullableTypeChecker,
             ServletContext servletContext,
             EndpointRegistry endpointRegistry,
-            ManagedExecutor executor) {
+            ManagedExecutor executor,
+            VirtualThreadDispatcher virtualThreadDispatcher,
+            PushBufferSettings pushBufferSettings) {
         super(applicationContext, endpointObjectMapper, explicitNullableTypeChecker, servletContext, endpointRegistry);
+        this.endpointObjectMapper = endpointObjectMapper;
+        this.pushBufferSettings = pushBufferSettings != null ? pushBufferSettings : PushBufferSettings.DISABLED;
+        this.executor = executor;
         scheduler = Schedulers.fromExecutor(executor);
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
+        virtualThreadScheduler =
+                virtualThreadDispatcher != null ? Schedulers.fromExecutor(virtualThreadDispatcher.executor()) : null;
+        sharedSubscriptions = new SharedSubscriptions(endpointRegistry);
     }
 
     @Override
@@ -87,49 +127,81 @@ public class QuarkusEndpointInvoker extends EndpointInvoker {
             Function<String, Boolean> rolesChecker)
             throws EndpointInvocationException.EndpointHttpException {
         Object object = super.invoke(endpointName, methodName, body, principal, rolesChecker);
+        Flux<?> flux;
+        Runnable onUnsubscribe = null;
         if (object instanceof Multi<?> multi) {
-            object = multiToEndpointSubscription(multi, null);
+            flux = multiToFlux(multi, endpointName, methodName);
         } else if (object instanceof MutinyEndpointSubscription<?> endpointSubscription) {
-            object = multiToEndpointSubscription(
-                    endpointSubscription.getMulti(), endpointSubscription.getOnUnsubscribe());
+            flux = multiToFlux(endpointSubscription.getMulti(), endpointName, methodName);
+            onUnsubscribe = endpointSubscription.getOnUnsubscribe();
+        } else if (object instanceof EndpointSubscription<?> endpointSubscription) {
+            flux = endpointSubscription.getFlux();
+            onUnsubscribe = endpointSubscription.getOnUnsubscribe();
+        } else if (object instanceof Flux<?> result) {
+            flux = result;
+        } else {
+            return EndpointRequestHandler.intercept(object);
+        }
+        Optional<SharedSubscription> shared = sharedSubscriptions.getSettings(endpointName, methodName);
+        if (shared.isPresent()) {
+            Flux<?> upstream = flux;
+            flux = sharedSubscriptions.share(shared.get(), endpointName, methodName, body, principal, () -> upstream);
+            PushBufferSettings settings = new PushBufferSettings(
+                    shared.get().bufferSize(), pushBufferSettings.maxBytes(), shared.get().overflow());
+            flux = buffered(flux, settings, endpointName, methodName);
+        } else if (pushBufferSettings.isEnabled()) {
+            flux = buffered(flux, pushBufferSettings, endpointName, methodName);
+        } else if (object instanceof Flux<?> || object instanceof EndpointSubscription<?>) {
+            return object;
         }
-        return object;
+        return EndpointSubscription.of(flux, onUnsubscribe != null ? onUnsubscribe : () -> {});
     }
 
-    @SuppressWarnings({"MutinyCallingSubscribeInNonBlockingScope", "ReactiveStreamsPublisherImplementation"})
-    private EndpointSubscription<?> multiToEndpointSubscription(Multi<?> multi, Runnable onUnsubscribe) {
-        OnDisconnect onDisconnect = new OnDisconnect(onUnsubscribe);
-        Flux<?> flux = Flux.from(subscribe -> {
-                    Cancellable cancelable =
-                            multi.subscribe().with(subscribe::onNext, subscribe::onError, subscribe::onComplete);
-                    onDisconnect.setCancellable(cancelable);
-                })
-                .cancelOn(scheduler)
-                .subscribeOn(scheduler)
-                .publishOn(scheduler);
-        return EndpointSubscription.of(flux, onDisconnect);
+    /**
+     * Gets the metrics of the buffers of push subscriptions.
+     *
+     * @return the push buffer metrics
+     */
+    public PushBufferMetrics getPushBufferMetrics() {
+        return pushBufferMetrics;
     }
 
-    private static class OnDisconnect implements Runnable {
-        private final Runnable onUnsubscribe;
-        private Cancellable cancellable;
+    private Flux<?> buffered(Flux<?> flux, PushBufferSettings settings, String endpointName, String methodName) {
+        Executor drainExecutor = runsOnVirtualThread(endpointName, methodName)
+                ? virtualThreadDispatcher.executor()
+                : executor;
+        return PushBuffer.apply(
+                flux,
+                settings,
+                drainExecutor,
+                endpointObjectMapper,
+                pushBufferMetrics.counters(endpointName, methodName));
+    }
 
-        OnDisconnect(Runnable onUnsubscribe) {
-            this.onUnsubscribe = onUnsubscribe;
-        }
+    private boolean runsOnVirtualThread(String endpointName, String methodName) {
+        return virtualThreadDispatcher != null && virtualThreadDispatcher.isEnabled(endpointName, methodName);
+    }
 
-        void setCancellable(Cancellable cancellable) {
-            this.cancellable = cancellable;
-        }
+    private Flux<?> multiToFlux(Multi<?> multi, String endpointName, String methodName) {
+        boolean virtualThread = runsOnVirtualThread(endpointName, methodName);
+        Executor itemExecutor = offEventLoop(virtualThread ? virtualThreadDispatcher.executor() : executor);
+        // request(n) is forwarded on the calling thread, only the initial
+        // subscription is moved to the executor
+        return JdkFlowAdapter.flowPublisherToFlux(multi.emitOn(itemExecutor))
+                .subscribeOn(virtualThread ? virtualThreadScheduler : scheduler, false);
+    }
 
-        @Override
-        public void run() {
-            if (cancellable != null) {
-                cancellable.cancel();
-            }
-            if (onUnsubscribe != null) {
-                onUnsubscribe.run();
+    /**
+     * Gets an executor that runs tasks on the calling thread, unless it is a
+     * Vert.x event loop thread.
+     */
+    private static Executor offEventLoop(Executor executor) {
+        return task -> {
+            if (Context.isOnEventLoopThread()) {
+                executor.execute(task);
+            } else {
+                task.run();
             }
-        }
+        };
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint method returning a {@code Multi}, a {@code Flux} or a
+ * {@link MutinyEndpointSubscription} as shareable between browser
+ * subscriptions.
+ * <p>
+ * Subscriptions to the same method with the same parameters, and, depending
+ * on the {@link #scope()}, by the same user, are served by a single upstream
+ * subscription whose items are multicast to all subscribers. The upstream is
+ * subscribed when the first browser subscribes and cancelled when the last
+ * one unsubscribes. Browsers joining later only receive the items emitted
+ * after they subscribed, so the annotation is meant for hot streams, such as
+ * tickers or change notifications.
+ * <p>
+ * The endpoint method is still invoked for every subscription, so access
+ * control and parameter validation apply as usual, but the returned stream
+ * is not subscribed when a shared one is already active.
+ * <p>
+ * Each subscriber has its own bounded buffer, so that a slow browser does
+ * not hold back the others. When the buffer is full, the {@link #overflow()}
+ * policy applies.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SharedSubscription {
+
+    /**
+     * Defines which subscriptions can share the same upstream.
+     *
+     * @return the sharing scope
+     */
+    Scope scope() default Scope.PRINCIPAL;
+
+    /**
+     * The maximum number of items buffered for a single subscriber.
+     *
+     * @return the buffer size
+     */
+    int bufferSize() default 256;
+
+    /**
+     * Defines what happens when the buffer of a subscriber is full.
+     *
+     * @return the overflow policy
+     */
+    Overflow overflow() default Overflow.DROP_OLDEST;
+
+    /**
+     * Scopes of shared subscriptions.
+     */
+    enum Scope {
+        /**
+         * The upstream is shared by all the subscribers, authenticated or
+         * not.
+         */
+        GLOBAL,
+        /**
+         * The upstream is shared only by subscribers with the same principal
+         * name. Anonymous subscribers share the same upstream.
+         */
+        PRINCIPAL
+    }
+
+    /**
+     * Policies applied when the buffer of a subscriber is full.
+     */
+    enum Overflow {
+        /**
+         * The oldest buffered item is discarded.
+         */
+        DROP_OLDEST,
+        /**
+         * The new item is discarded.
+         */
+        DROP_LATEST,
+        /**
+         * All the buffered items are discarded and replaced by the new one,
+         * so that the subscriber only receives the latest state.
+         */
+        CONFLATE_LATEST,
+        /**
+         * The subscription fails, and the browser receives an error.
+         */
+        ERROR
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.security.Principal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.vaadin.hilla.EndpointRegistry;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Multicasts the streams of endpoint methods annotated with
+ * {@link SharedSubscription} to all the subscribers with the same sharing key.
+ * <p>
+ * A shared stream is kept while it has at least one subscriber. The key of a
+ * stream is made of the endpoint and method names, the call parameters and,
+ * for {@link SharedSubscription.Scope#PRINCIPAL} scope, the principal name.
+ */
+class SharedSubscriptions {
+
+    private final EndpointRegistry endpointRegistry;
+    private final Map<String, Optional<SharedSubscription>> annotations = new ConcurrentHashMap<>();
+    private final Map<Key, SharedStream> streams = new ConcurrentHashMap<>();
+
+    SharedSubscriptions(EndpointRegistry endpointRegistry) {
+        this.endpointRegistry = endpointRegistry;
+    }
+
+    /**
+     * Gets the sharing settings of the given endpoint method.
+     *
+     * @param endpointName the name of the endpoint, not case-sensitive
+     * @param methodName   the name of the method, not case-sensitive
+     * @return the sharing settings, or an empty optional if the method
+     * streams are not shared
+     */
+    Optional<SharedSubscription> getSettings(String endpointName, String methodName) {
+        String endpointKey = endpointName.toLowerCase(Locale.ENGLISH);
+        String methodKey = methodName.toLowerCase(Locale.ENGLISH);
+        return annotations.computeIfAbsent(endpointKey + "/" + methodKey, unused -> {
+            EndpointRegistry.VaadinEndpointData endpointData =
+                    endpointRegistry.getEndpoints().get(endpointKey);
+            if (endpointData == null) {
+                return Optional.empty();
+            }
+            return endpointData
+                    .getMethod(methodKey)
+                    .map(method -> method.getAnnotation(SharedSubscription.class));
+        });
+    }
+
+    /**
+     * Gets a stream that subscribes to the shared upstream for the given call.
+     * <p>
+     * The upstream is created with the given supplier when the returned
+     * stream is subscribed and no shared upstream is active for the call.
+     *
+     * @param settings     the sharing settings of the method
+     * @param endpointName the name of the endpoint
+     * @param methodName   the name of the method
+     * @param body         the call parameters
+     * @param principal    the principal of the subscriber, may be {@literal null}
+     * @param upstream     the supplier of the stream to share
+     * @return a stream for a single subscriber
+     */
+    Flux<?> share(
+            SharedSubscription settings,
+            String endpointName,
+            String methodName,
+            ObjectNode body,
+            Principal principal,
+            Supplier<Flux<?>> upstream) {
+        String principalName = settings.scope() == SharedSubscription.Scope.PRINCIPAL && principal != null
+                ? principal.getName()
+                : null;
+        Key key = new Key(
+                endpointName.toLowerCase(Locale.ENGLISH),
+                methodName.toLowerCase(Locale.ENGLISH),
+                body,
+                principalName);
+        return Flux.defer(() -> {
+            SharedStream stream = acquire(key, upstream);
+            return stream.flux.doFinally(signal -> release(key, stream));
+        });
+    }
+
+    /**
+     * Gets the number of shared upstream subscriptions currently active.
+     *
+     * @return the number of shared streams
+     */
+    int size() {
+        return streams.size();
+    }
+
+    private SharedStream acquire(Key key, Supplier<Flux<?>> upstream) {
+        // the subscriber is counted inside compute, so that the stream
+        // cannot be removed by a concurrent release in the meantime
+        return streams.compute(key, (unused, stream) -> {
+            SharedStream shared = stream != null ? stream : new SharedStream(upstream.get().publish().refCount());
+            shared.subscribers++;
+            return shared;
+        });
+    }
+
+    private void release(Key key, SharedStream stream) {
+        streams.computeIfPresent(key, (unused, current) -> {
+            if (current == stream && --current.subscribers == 0) {
+                return null;
+            }
+            return current;
+        });
+    }
+
+    private record Key(String endpoint, String method, ObjectNode parameters, String principal) {}
+
+    private static final class SharedStream {
+        private final Flux<?> flux;
+        // guarded by the compute functions of the streams map
+        private int subscribers;
+
+        private SharedStream(Flux<?> flux) {
+            this.flux = flux;
+        }
+    }
+}
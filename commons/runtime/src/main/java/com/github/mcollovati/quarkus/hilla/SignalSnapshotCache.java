@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.signals.SignalCommand;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Reuses the JSON tree of the signal snapshots sent to new subscribers.
+ * <p>
+ * Every subscription to a shared signal starts with a snapshot of the whole
+ * signal tree, which Hilla converts to JSON for each subscriber. For large
+ * list signals joined by many clients, this conversion dominates the cost of
+ * subscribing. The snapshot taken by a signal stays the same until the signal
+ * changes, so the tree converted for the first subscriber is reused for the
+ * following ones; only the command identifier, unique for each subscriber, is
+ * replaced.
+ * <p>
+ * Cached trees are released when the snapshot they were created from is
+ * garbage collected.
+ */
+public final class SignalSnapshotCache {
+
+    private static final String COMMAND_ID = "commandId";
+    private static final ReferenceQueue<Object> RELEASED = new ReferenceQueue<>();
+    private static final Map<SnapshotKey, ObjectNode> TREES = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private SignalSnapshotCache() {}
+
+    static JsonNode toTree(ObjectMapper objectMapper, SignalCommand.SnapshotCommand snapshot) {
+        purge();
+        ObjectNode cached = TREES.get(new SnapshotKey(snapshot.nodes(), null));
+        if (cached == null) {
+            MISSES.increment();
+            JsonNode tree = objectMapper.valueToTree(snapshot);
+            if (tree instanceof ObjectNode objectNode) {
+                TREES.put(new SnapshotKey(snapshot.nodes(), RELEASED), objectNode);
+            }
+            return tree;
+        }
+        HITS.increment();
+        // shallow copy, the nodes of the snapshot are shared and never modified
+        ObjectNode tree = objectMapper.createObjectNode();
+        tree.setAll(cached);
+        tree.set(COMMAND_ID, objectMapper.valueToTree(snapshot.commandId()));
+        return tree;
+    }
+
+    /**
+     * Gets how many snapshots have been sent reusing a cached JSON tree.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Gets how many snapshots have been converted to JSON.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Gets the number of snapshot trees currently cached.
+     *
+     * @return the number of cached trees
+     */
+    public static int size() {
+        purge();
+        return TREES.size();
+    }
+
+    /**
+     * Removes all cached trees and resets the counters.
+     */
+    public static void clear() {
+        TREES.clear();
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    private static void purge() {
+        Reference<?> released;
+        while ((released = RELEASED.poll()) != null) {
+            TREES.remove(released);
+        }
+    }
+
+    /**
+     * Weak key comparing the snapshot nodes by identity: a signal snapshot is
+     * immutable, and a change to the signal creates a new one.
+     */
+    private static final class SnapshotKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        private SnapshotKey(Object nodes, ReferenceQueue<Object> queue) {
+            super(nodes, queue);
+            this.hash = System.identityHashCode(nodes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            return other instanceof SnapshotKey key && key.hash == hash && key.get() != null && key.get() == get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
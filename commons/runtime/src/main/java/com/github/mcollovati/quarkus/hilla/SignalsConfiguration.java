@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Configuration of the shared signals obtained from
+ * {@link com.github.mcollovati.quarkus.hilla.signals.PersistentSignals}.
+ */
+@ConfigMapping(prefix = "vaadin.hilla.signals")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface SignalsConfiguration {
+
+    /**
+     * The storage of persistent signals.
+     * <p>
+     * The {@literal jdbc} store uses the default datasource. Applications can use a different storage by providing
+     * their own {@link com.github.mcollovati.quarkus.hilla.signals.SignalStore} bean.
+     * </p>
+     *
+     * @return the storage of persistent signals
+     */
+    @WithDefault("file")
+    StoreType store();
+
+    /**
+     * The directory containing the signal files, when using the {@literal file} store.
+     * <p>
+     * A relative path is resolved against the working directory of the application when it starts, so an absolute
+     * path should be used in production.
+     * </p>
+     *
+     * @return the directory containing the signal files
+     */
+    @WithDefault("signals")
+    Path directory();
+
+    /**
+     * The number of changes stored for a signal after which its log is replaced by a snapshot of its state.
+     * <p>
+     * Use {@literal 0} to never compact logs.
+     * </p>
+     *
+     * @return the number of changes stored before compaction
+     */
+    @WithDefault("1000")
+    int compactAfter();
+
+    /**
+     * The time after which a signal that has not been requested can be released from memory.
+     * <p>
+     * Signals with subscribed clients are kept in memory regardless of this setting.
+     * </p>
+     *
+     * @return the idle time after which signals can be released
+     */
+    @WithDefault("5m")
+    Duration idleTimeout();
+
+    /**
+     * The storage of persistent signals.
+     */
+    enum StoreType {
+        /**
+         * An append-only file per signal.
+         */
+        FILE,
+        /**
+         * A table of the default datasource.
+         */
+        JDBC
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.vaadin.hilla.push.PushMessageHandler;
+import com.vaadin.hilla.push.messages.fromclient.AbstractServerMessage;
+import com.vaadin.hilla.push.messages.toclient.AbstractClientMessage;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.runtime.ExecutorRecorder;
+import io.quarkus.security.identity.CurrentIdentityAssociation;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.vertx.http.runtime.security.QuarkusHttpUser;
+import io.smallrye.common.annotation.Identifier;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Serves Hilla push WebSocket connections directly on Vert.x.
+ * <p>
+ * The handler takes over WebSocket upgrade requests for the Hilla push path,
+ * so that WebSocket connections do not go through the servlet container and
+ * Atmosphere. It speaks the subset of the Atmosphere protocol used by the
+ * Hilla client: the handshake sending the connection identifier, and the
+ * length prefix of every message when the client asks for it. Messages are
+ * passed to the same {@link PushMessageHandler} used by Hilla
+ * {@code PushEndpoint}.
+ * <p>
+ * Requests for other transports, such as long-polling, are left to the
+ * Atmosphere servlet.
+ * <p>
+ * Incoming messages are handled in order for each connection, on the Quarkus
+ * worker pool, with the CDI request context active and the
+ * {@link SecurityIdentity} of the upgrade request associated with it.
+ */
+public class VertxPushHandler implements Handler<RoutingContext> {
+
+    static final String TRACKING_ID = "X-Atmosphere-tracking-id";
+    static final String TRANSPORT = "X-Atmosphere-Transport";
+    static final String TRACK_MESSAGE_SIZE = "X-Atmosphere-TrackMessageSize";
+    static final String PROTOCOL = "X-atmo-protocol";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VertxPushHandler.class);
+    private static final String WEBSOCKET = "websocket";
+    private static final String DELIMITER = "|";
+    private static final String PADDING = "X";
+    private static final long PING_INTERVAL_MILLIS = 60_000;
+    private static final Map<String, Connection> CONNECTIONS = new ConcurrentHashMap<>();
+
+    private final String pushPath;
+    private volatile PushMessageHandler pushMessageHandler;
+    private volatile ObjectMapper objectMapper;
+
+    /**
+     * Creates a new handler for the given push path.
+     *
+     * @param pushPath the full path of the Hilla push mapping, including the
+     *                 HTTP root path and the servlet context path, for
+     *                 example {@literal /HILLA/push}
+     */
+    public VertxPushHandler(String pushPath) {
+        this.pushPath = pushPath;
+    }
+
+    /**
+     * Gets the number of push connections currently open on Vert.x.
+     *
+     * @return the number of open connections
+     */
+    public static int getConnectionCount() {
+        return CONNECTIONS.size();
+    }
+
+    @Override
+    public void handle(RoutingContext routingContext) {
+        HttpServerRequest request = routingContext.request();
+        if (!isPushUpgrade(request)) {
+            routingContext.next();
+            return;
+        }
+        Uni<SecurityIdentity> deferredIdentity = routingContext.get(QuarkusHttpUser.DEFERRED_IDENTITY_KEY);
+        if (deferredIdentity != null) {
+            deferredIdentity
+                    .subscribe()
+                    .with(identity -> upgrade(routingContext, identity), routingContext::fail);
+        } else if (routingContext.user() instanceof QuarkusHttpUser user) {
+            upgrade(routingContext, user.getSecurityIdentity());
+        } else {
+            upgrade(routingContext, null);
+        }
+    }
+
+    private boolean isPushUpgrade(HttpServerRequest request) {
+        return request.path().equals(pushPath)
+                && WEBSOCKET.equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))
+                && WEBSOCKET.equalsIgnoreCase(atmosphereParam(request, TRANSPORT));
+    }
+
+    private void upgrade(RoutingContext routingContext, SecurityIdentity identity) {
+        HttpServerRequest request = routingContext.request();
+        String trackingId = atmosphereParam(request, TRACKING_ID);
+        boolean handshake = "0".equals(trackingId) && atmosphereParam(request, PROTOCOL) != null;
+        boolean trackMessageSize = Boolean.parseBoolean(atmosphereParam(request, TRACK_MESSAGE_SIZE));
+        request.toWebSocket()
+                .onSuccess(webSocket -> {
+                    Connection connection =
+                            new Connection(routingContext.vertx(), webSocket, identity, trackMessageSize);
+                    connection.open(trackingId, handshake);
+                })
+                .onFailure(error -> LOGGER.debug("Cannot upgrade push request to WebSocket", error));
+    }
+
+    private static String atmosphereParam(HttpServerRequest request, String name) {
+        // the Atmosphere client sends its parameters in the query string, but
+        // they are also accepted as headers
+        String value = request.getParam(name);
+        return value != null ? value : request.getHeader(name);
+    }
+
+    private PushMessageHandler pushMessageHandler() {
+        if (pushMessageHandler == null) {
+            pushMessageHandler = Arc.container().instance(PushMessageHandler.class).get();
+        }
+        return pushMessageHandler;
+    }
+
+    private ObjectMapper objectMapper() {
+        if (objectMapper == null) {
+            objectMapper = Arc.container()
+                    .select(ObjectMapper.class, Identifier.Literal.of("hillaEndpointObjectMapper"))
+                    .get();
+        }
+        return objectMapper;
+    }
+
+    static String encode(String message, boolean trackMessageSize) {
+        return trackMessageSize ? message.length() + DELIMITER + message : message;
+    }
+
+    private final class Connection {
+
+        private final Vertx vertx;
+        private final ServerWebSocket webSocket;
+        private final SecurityIdentity identity;
+        private final boolean trackMessageSize;
+        private final Executor executor = ExecutorRecorder.getCurrent();
+        private String id;
+        private long pingTimer;
+        private CompletableFuture<Void> tasks = CompletableFuture.completedFuture(null);
+
+        private Connection(
+                Vertx vertx, ServerWebSocket webSocket, SecurityIdentity identity, boolean trackMessageSize) {
+            this.vertx = vertx;
+            this.webSocket = webSocket;
+            this.identity = identity;
+            this.trackMessageSize = trackMessageSize;
+        }
+
+        private void open(String trackingId, boolean handshake) {
+            // like Atmosphere, reuse the identifier known by the client, unless
+            // it belongs to another open connection
+            id = trackingId == null || "0".equals(trackingId) ? UUID.randomUUID().toString() : trackingId;
+            while (CONNECTIONS.putIfAbsent(id, this) != null) {
+                id = UUID.randomUUID().toString();
+            }
+            webSocket.textMessageHandler(this::onMessage);
+            webSocket.closeHandler(ignored -> onClose());
+            webSocket.exceptionHandler(error -> LOGGER.debug("Push connection {} failed", id, error));
+            // browsers answer pings without involving the client code, which
+            // keeps idle connections open through proxies
+            pingTimer = vertx.setPeriodic(PING_INTERVAL_MILLIS, ignored -> webSocket.writePing(Buffer.buffer()));
+            if (handshake) {
+                // client heartbeats are not needed, the server sends pings
+                String protocol = id + DELIMITER + "0" + DELIMITER + PADDING + DELIMITER;
+                webSocket.writeTextMessage(encode(protocol, trackMessageSize));
+            }
+            LOGGER.trace("Push connection {} opened", id);
+            dispatch(() -> pushMessageHandler().handleBrowserConnect(id));
+        }
+
+        private void onMessage(String text) {
+            if (text.isBlank() || PADDING.equals(text)) {
+                return;
+            }
+            AbstractServerMessage message;
+            try {
+                message = objectMapper().readValue(text, AbstractServerMessage.class);
+            } catch (JacksonException ex) {
+                LOGGER.debug("Ignoring invalid message on push connection {}: {}", id, text, ex);
+                return;
+            }
+            dispatch(() -> pushMessageHandler().handleMessage(id, message, this::send));
+        }
+
+        private void send(AbstractClientMessage message) {
+            if (webSocket.isClosed()) {
+                LOGGER.debug("Push connection {} closed, message not sent", id);
+                return;
+            }
+            webSocket.writeTextMessage(encode(objectMapper().writeValueAsString(message), trackMessageSize));
+        }
+
+        private void onClose() {
+            LOGGER.trace("Push connection {} closed", id);
+            CONNECTIONS.remove(id, this);
+            vertx.cancelTimer(pingTimer);
+            dispatch(() -> pushMessageHandler().handleBrowserDisconnect(id));
+        }
+
+        private synchronized void dispatch(Runnable task) {
+            // tasks of the same connection run one after the other, so that
+            // for example an unsubscribe is never handled before its subscribe
+            tasks = tasks.thenRunAsync(() -> runInRequestContext(task), executor)
+                    .exceptionally(error -> {
+                        LOGGER.error("Failed to handle message on push connection {}", id, error);
+                        return null;
+                    });
+        }
+
+        private void runInRequestContext(Runnable task) {
+            ManagedContext requestContext = Arc.container().requestContext();
+            requestContext.activate();
+            try {
+                if (identity != null) {
+                    InstanceHandle<CurrentIdentityAssociation> association =
+                            Arc.container().instance(CurrentIdentityAssociation.class);
+                    if (association.isAvailable()) {
+                        association.get().setIdentity(identity);
+                    }
+                }
+                task.run();
+            } finally {
+                requestContext.terminate();
+            }
+        }
+    }
+}
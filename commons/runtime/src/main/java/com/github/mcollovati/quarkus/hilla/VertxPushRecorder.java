@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import io.quarkus.runtime.annotations.Recorder;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+@Recorder
+public class VertxPushRecorder {
+
+    /**
+     * Creates a vert.x handler that serves Hilla push WebSocket connections without going through the Atmosphere
+     * servlet.
+     * Requests that are not WebSocket upgrades for the push path are passed to the next handler.
+     *
+     * @param pushPath the full path of the Hilla push mapping, including the HTTP root path and the servlet context
+     *                 path
+     * @return a new handler for Hilla push WebSocket connections.
+     */
+    public Handler<RoutingContext> pushHandler(String pushPath) {
+        return new VertxPushHandler(pushPath);
+    }
+}
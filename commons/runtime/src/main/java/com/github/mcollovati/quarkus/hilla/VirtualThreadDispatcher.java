@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.vaadin.hilla.EndpointRegistry;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.context.ThreadContext;
+
+/**
+ * Decides which endpoint methods run on virtual threads and dispatches their
+ * execution.
+ * <p>
+ * An endpoint method runs on a virtual thread if virtual threads are enabled
+ * for all endpoints through {@code vaadin.endpoint.virtual-threads}, or if the
+ * method, the endpoint class or the class declaring the method is annotated
+ * with {@link RunOnVirtualThread}.
+ * <p>
+ * Tasks submitted to the virtual thread executor carry the context of the
+ * submitting thread, so the CDI request context, and with it the current
+ * {@code SecurityIdentity}, remain available to endpoint code.
+ */
+public class VirtualThreadDispatcher {
+
+    private final EndpointRegistry endpointRegistry;
+    private final boolean allEndpoints;
+    private final Executor virtualThreadsExecutor;
+    private final Executor contextualExecutor;
+    private final ThreadContext threadContext;
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    VirtualThreadDispatcher(
+            EndpointRegistry endpointRegistry,
+            boolean allEndpoints,
+            Executor virtualThreadsExecutor,
+            ThreadContext threadContext) {
+        this.endpointRegistry = endpointRegistry;
+        this.allEndpoints = allEndpoints;
+        this.virtualThreadsExecutor = virtualThreadsExecutor;
+        this.threadContext = threadContext;
+        this.contextualExecutor =
+                command -> virtualThreadsExecutor.execute(threadContext.contextualRunnable(command));
+    }
+
+    /**
+     * Checks if the given endpoint method must run on a virtual thread.
+     *
+     * @param endpointName the name of the endpoint, not case-sensitive
+     * @param methodName   the name of the method, not case-sensitive
+     * @return {@literal true} if the method should run on a virtual thread,
+     * otherwise {@literal false}
+     */
+    public boolean isEnabled(String endpointName, String methodName) {
+        if (allEndpoints) {
+            return true;
+        }
+        String endpointKey = endpointName.toLowerCase(Locale.ENGLISH);
+        String methodKey = methodName.toLowerCase(Locale.ENGLISH);
+        Boolean decision = decisions.get(endpointKey + "/" + methodKey);
+        if (decision == null) {
+            EndpointRegistry.VaadinEndpointData endpointData =
+                    endpointRegistry.getEndpoints().get(endpointKey);
+            if (endpointData == null) {
+                return false;
+            }
+            Method method = endpointData.getMethod(methodKey).orElse(null);
+            if (method == null) {
+                return false;
+            }
+            Class<?> endpointClass = SpringReplacements.classUtils_getUserClass(endpointData.getEndpointObject());
+            decision = method.isAnnotationPresent(RunOnVirtualThread.class)
+                    || endpointClass.isAnnotationPresent(RunOnVirtualThread.class)
+                    || method.getDeclaringClass().isAnnotationPresent(RunOnVirtualThread.class);
+            decisions.put(endpointKey + "/" + methodKey, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Forgets the decisions taken so far, so that they are computed again
+     * from the annotations of the currently registered endpoints.
+     */
+    void clear() {
+        decisions.clear();
+    }
+
+    /**
+     * Gets an executor that runs tasks on virtual threads, propagating the
+     * context of the submitting thread.
+     *
+     * @return the virtual thread executor
+     */
+    public Executor executor() {
+        return contextualExecutor;
+    }
+
+    /**
+     * Runs the given call on a virtual thread.
+     *
+     * @param call the call to execute
+     * @param <T>  the type of the call result
+     * @return a {@link Uni} that emits the result of the call
+     */
+    <T> Uni<T> dispatch(Supplier<Uni<T>> call) {
+        // the context is captured on the calling thread, where the request is
+        // being processed, not on the thread that subscribes
+        return Uni.createFrom()
+                .deferred(threadContext.contextualSupplier(call))
+                .runSubscriptionOn(virtualThreadsExecutor);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.crud;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Helpers for the bulk operations of CRUD repository services.
+ * <p>
+ * Entities are written in chunks matching the configured JDBC batch size
+ * ({@code quarkus.hibernate-orm.jdbc.statement-batch-size}, exposed to
+ * Hibernate as {@code hibernate.jdbc.batch_size}). After each chunk the
+ * persistence context is flushed, so that the pending statements are sent
+ * to the database as JDBC batches, and then cleared, so that its size does
+ * not grow with the number of processed entities.
+ * <p>
+ * Entities managed by the persistence context before the operation are
+ * detached when a chunk is cleared.
+ */
+public final class BatchWriteSupport {
+
+    static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+    static final int DEFAULT_CHUNK_SIZE = 50;
+
+    private BatchWriteSupport() {}
+
+    /**
+     * Saves the given entities in chunks.
+     *
+     * @param entityManager the entity manager of the entities
+     * @param values        the entities to save
+     * @param save          the operation saving a single entity and returning
+     *                      the saved instance
+     * @param <T>           the entity type
+     * @return the saved entities, in the same order as the given ones
+     */
+    public static <T> List<T> saveAll(EntityManager entityManager, List<T> values, UnaryOperator<T> save) {
+        int chunkSize = chunkSize(entityManager);
+        List<T> saved = new ArrayList<>(values.size());
+        for (T value : values) {
+            saved.add(save.apply(value));
+            endOfChunk(entityManager, saved.size(), chunkSize);
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes the entities with the given IDs in chunks.
+     *
+     * @param entityManager the entity manager of the entities
+     * @param ids           the IDs of the entities to delete
+     * @param delete        the operation deleting a single entity
+     * @param <ID>          the entity ID type
+     */
+    public static <ID> void deleteAll(EntityManager entityManager, List<ID> ids, Consumer<ID> delete) {
+        int chunkSize = chunkSize(entityManager);
+        int deleted = 0;
+        for (ID id : ids) {
+            delete.accept(id);
+            endOfChunk(entityManager, ++deleted, chunkSize);
+        }
+    }
+
+    private static void endOfChunk(EntityManager entityManager, int processed, int chunkSize) {
+        if (processed % chunkSize == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    static int chunkSize(EntityManager entityManager) {
+        Object batchSize = entityManager.getEntityManagerFactory().getProperties().get(BATCH_SIZE_PROPERTY);
+        if (batchSize != null) {
+            try {
+                int size = Integer.parseInt(batchSize.toString().trim());
+                // a batch size of 1 disables batching, but chunks still
+                // bound the size of the persistence context
+                if (size > 1) {
+                    return size;
+                }
+            } catch (NumberFormatException ignored) {
+                // fall back to the default chunk size
+            }
+        }
+        return DEFAULT_CHUNK_SIZE;
+    }
+}
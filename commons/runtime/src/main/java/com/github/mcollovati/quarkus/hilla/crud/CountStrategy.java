@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.crud;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vaadin.hilla.crud.filter.Filter;
+import com.vaadin.hilla.crud.filter.PropertyStringFilter;
+
+/**
+ * Strategy used by list repository services to count the entities matching a
+ * filter.
+ * <p>
+ * The default {@link #exact()} strategy runs a full count query on every call.
+ * For large tables, {@link #cached(Duration)} reuses the count computed for the
+ * same filter for a limited time, and {@link #atLeast(int)} stops counting
+ * once a given number of entities has been found.
+ */
+public abstract class CountStrategy {
+
+    static final int MAX_CACHED_COUNTS = 256;
+
+    private static final CountStrategy EXACT = new CountStrategy() {
+        @Override
+        public long count(Filter filter, Counter counter) {
+            return counter.count(filter);
+        }
+    };
+
+    /**
+     * Counts the entities matching the given filter.
+     *
+     * @param filter  the filter, or {@literal null} to count all entities
+     * @param counter the operations used to query the repository
+     * @return the number of entities matching the filter, according to the
+     * strategy
+     */
+    public abstract long count(Filter filter, Counter counter);
+
+    /**
+     * Discards any count computed previously.
+     * <p>
+     * Called by CRUD repository services after an entity has been saved or
+     * deleted.
+     */
+    public void invalidate() {}
+
+    /**
+     * Gets a strategy that always counts all the entities matching the filter.
+     *
+     * @return the exact count strategy
+     */
+    public static CountStrategy exact() {
+        return EXACT;
+    }
+
+    /**
+     * Gets a strategy that caches exact counts per filter.
+     * <p>
+     * Cached counts are reused until they expire or the cache is invalidated
+     * by a save or delete operation of the service that owns the strategy.
+     * Changes made by other means become visible when the cached count
+     * expires.
+     *
+     * @param ttl how long a count can be reused
+     * @return a new caching count strategy
+     */
+    public static CountStrategy cached(Duration ttl) {
+        return cached(ttl, exact());
+    }
+
+    /**
+     * Gets a strategy that caches counts per filter, computing missing counts
+     * with the given strategy.
+     *
+     * @param ttl      how long a count can be reused
+     * @param delegate the strategy used to compute the counts to cache
+     * @return a new caching count strategy
+     */
+    public static CountStrategy cached(Duration ttl, CountStrategy delegate) {
+        return new CachedCountStrategy(ttl, delegate);
+    }
+
+    /**
+     * Gets a strategy that counts at most {@code limit + 1} entities.
+     * <p>
+     * A result of {@code limit + 1} means that there are more than
+     * {@code limit} entities matching the filter. The count is computed by
+     * selecting at most {@code limit + 1} rows, without loading the entities,
+     * instead of running a full count query.
+     *
+     * @param limit the number of entities above which counting stops
+     * @return a new upper bound count strategy
+     */
+    public static CountStrategy atLeast(int limit) {
+        if (limit < 0 || limit == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid count limit " + limit);
+        }
+        return new CountStrategy() {
+            @Override
+            public long count(Filter filter, Counter counter) {
+                return counter.countUpTo(filter, limit + 1);
+            }
+        };
+    }
+
+    /**
+     * Repository operations available to count strategies.
+     */
+    public interface Counter {
+
+        /**
+         * Counts all entities matching the filter.
+         *
+         * @param filter the filter, or {@literal null} to count all entities
+         * @return the number of entities matching the filter
+         */
+        long count(Filter filter);
+
+        /**
+         * Counts the entities matching the filter, stopping at the given
+         * limit.
+         *
+         * @param filter the filter, or {@literal null} to count all entities
+         * @param limit  the maximum number of entities to count
+         * @return the number of entities matching the filter, but not more
+         * than {@code limit}
+         */
+        long countUpTo(Filter filter, int limit);
+    }
+
+    private static final class CachedCountStrategy extends CountStrategy {
+
+        private final long ttlNanos;
+        private final CountStrategy delegate;
+        private final AtomicLong generation = new AtomicLong();
+        private final Map<CountKey, CachedCount> counts =
+                Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<CountKey, CachedCount> eldest) {
+                        return size() > MAX_CACHED_COUNTS;
+                    }
+                });
+
+        private CachedCountStrategy(Duration ttl, CountStrategy delegate) {
+            this.ttlNanos = ttl.toNanos();
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        @Override
+        public long count(Filter filter, Counter counter) {
+            List<PropertyStringFilter> filters = new ArrayList<>();
+            Object shape = FilterQueryCache.shapeOf(filter, filters);
+            CountKey key = new CountKey(
+                    shape, filters.stream().map(PropertyStringFilter::getFilterValue).toList());
+            long now = System.nanoTime();
+            CachedCount cached = counts.get(key);
+            if (cached != null && now - cached.computedAt() < ttlNanos) {
+                return cached.count();
+            }
+            long currentGeneration = generation.get();
+            long count = delegate.count(filter, counter);
+            // do not cache a count that may have been computed before an
+            // invalidation that happened in the meantime
+            if (generation.get() == currentGeneration) {
+                counts.put(key, new CachedCount(count, now));
+            }
+            return count;
+        }
+
+        @Override
+        public void invalidate() {
+            generation.incrementAndGet();
+            counts.clear();
+            delegate.invalidate();
+        }
+    }
+
+    private record CountKey(Object filterShape, List<String> filterValues) {}
+
+    private record CachedCount(long count, long computedAt) {}
+}
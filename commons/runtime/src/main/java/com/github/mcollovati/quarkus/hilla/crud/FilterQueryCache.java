@@ -0,0 +1,607 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.crud;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.vaadin.hilla.crud.filter.AndFilter;
+import com.vaadin.hilla.crud.filter.Filter;
+import com.vaadin.hilla.crud.filter.OrFilter;
+import com.vaadin.hilla.crud.filter.PropertyStringFilter;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Cache of the JPQL queries generated for Hilla filters.
+ * <p>
+ * Queries are cached by the structure of the filter, i.e. the entity type, the
+ * tree of {@link AndFilter} and {@link OrFilter} nodes, the property and matcher
+ * of every {@link PropertyStringFilter} and the requested sort order. Filter
+ * values are never part of the query text; they are bound as parameters when
+ * the query is executed, so all requests with the same filter structure share
+ * the same JPQL string and, with it, the query plan cached by the persistence
+ * provider.
+ * <p>
+ * Filters are translated to predicates following the same rules as
+ * {@link PropertyStringFilterSpecification}.
+ */
+public final class FilterQueryCache {
+
+    static final int MAX_CACHED_QUERIES = 512;
+
+    private static final String ALIAS = "e";
+
+    private final Map<QueryKey, CompiledQuery> queries =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<QueryKey, CompiledQuery> eldest) {
+                    return size() > MAX_CACHED_QUERIES;
+                }
+            });
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    FilterQueryCache() {}
+
+    /**
+     * Creates a query that counts the entities matching the given filter.
+     *
+     * @param entityManager the entity manager
+     * @param entityClass   the entity type
+     * @param filter        the filter, or {@literal null} to count all entities
+     * @return a query ready to be executed
+     */
+    TypedQuery<Long> countQuery(EntityManager entityManager, Class<?> entityClass, Filter filter) {
+        List<PropertyStringFilter> values = new ArrayList<>();
+        QueryKey key = new QueryKey(entityClass, QueryKind.COUNT, shapeOf(filter, values), List.of(), 0);
+        CompiledQuery compiled = lookup(key, entityManager);
+        return compiled.bind(entityManager.createQuery(compiled.jpql(), Long.class), values);
+    }
+
+    /**
+     * Creates a query that selects a constant for every entity matching the
+     * given filter, to count matches up to a limit with
+     * {@link TypedQuery#setMaxResults(int)} without loading the entities.
+     *
+     * @param entityManager the entity manager
+     * @param entityClass   the entity type
+     * @param filter        the filter, or {@literal null} to match all entities
+     * @return a query ready to be executed
+     */
+    TypedQuery<Integer> matchQuery(EntityManager entityManager, Class<?> entityClass, Filter filter) {
+        List<PropertyStringFilter> values = new ArrayList<>();
+        QueryKey key = new QueryKey(entityClass, QueryKind.MATCH, shapeOf(filter, values), List.of(), 0);
+        CompiledQuery compiled = lookup(key, entityManager);
+        return compiled.bind(entityManager.createQuery(compiled.jpql(), Integer.class), values);
+    }
+
+    /**
+     * Creates a query that selects the entities matching the given filter, in
+     * the given order.
+     *
+     * @param entityManager the entity manager
+     * @param entityClass   the entity type
+     * @param filter        the filter, or {@literal null} to select all entities
+     * @param sort          the sort order, or {@literal null} if unsorted
+     * @param <T>           the entity type
+     * @return a query ready to be executed
+     */
+    <T> TypedQuery<T> listQuery(EntityManager entityManager, Class<T> entityClass, Filter filter, Sort sort) {
+        List<PropertyStringFilter> values = new ArrayList<>();
+        QueryKey key = new QueryKey(entityClass, QueryKind.LIST, shapeOf(filter, values), sortShape(sort), 0);
+        CompiledQuery compiled = lookup(key, entityManager);
+        return compiled.bind(entityManager.createQuery(compiled.jpql(), entityClass), values);
+    }
+
+    /**
+     * Creates a query for keyset pagination, that selects the entities
+     * matching the given filter together with the values of their sort keys.
+     * <p>
+     * Entities are ordered by the given sort, followed by the entity ID, with
+     * {@literal null} values sorted last. The first element of every result
+     * row is the entity; the following elements are its sort keys, which can
+     * be passed as {@code cursor} to seek the rows that come after it.
+     *
+     * @param entityManager the entity manager
+     * @param entityClass   the entity type
+     * @param filter        the filter, or {@literal null} to select all entities
+     * @param sort          the sort order
+     * @param cursor        the sort keys of the last row of the previous page,
+     *                      or {@literal null} to start from the first row
+     * @return a query ready to be executed, or {@literal null} if keyset
+     * pagination is not supported for the entity or the sort order
+     */
+    TypedQuery<Object[]> keysetQuery(
+            EntityManager entityManager, Class<?> entityClass, Filter filter, Sort sort, Object[] cursor) {
+        List<PropertyStringFilter> values = new ArrayList<>();
+        QueryKind kind = cursor == null ? QueryKind.KEYSET : QueryKind.KEYSET_SEEK;
+        long nullKeys = 0;
+        if (cursor != null) {
+            for (int i = 0; i < cursor.length; i++) {
+                if (cursor[i] == null) {
+                    nullKeys |= 1L << i;
+                }
+            }
+        }
+        QueryKey key = new QueryKey(entityClass, kind, shapeOf(filter, values), sortShape(sort), nullKeys);
+        CompiledQuery compiled = lookup(key, entityManager);
+        if (compiled.jpql() == null) {
+            return null;
+        }
+        TypedQuery<Object[]> query = compiled.bind(entityManager.createQuery(compiled.jpql(), Object[].class), values);
+        if (cursor != null) {
+            for (int i = 0; i < cursor.length; i++) {
+                if (cursor[i] != null) {
+                    query.setParameter("k" + i, cursor[i]);
+                }
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Gets statistics about the usage of the cache.
+     *
+     * @return the cache statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), queries.size());
+    }
+
+    /**
+     * Removes all cached queries and resets the statistics.
+     */
+    public void clear() {
+        queries.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    private CompiledQuery lookup(QueryKey key, EntityManager entityManager) {
+        CompiledQuery compiled = queries.get(key);
+        if (compiled != null) {
+            hits.increment();
+            return compiled;
+        }
+        misses.increment();
+        // Concurrent misses for the same key may compile the query more than
+        // once, but the result is always the same
+        compiled = new QueryCompiler(entityManager.getMetamodel(), key.entity()).compile(key);
+        queries.put(key, compiled);
+        return compiled;
+    }
+
+    private static List<SortShape> sortShape(Sort sort) {
+        if (sort == null) {
+            return List.of();
+        }
+        return sort.stream()
+                .map(order -> new SortShape(order.getProperty(), order.isAscending(), order.isIgnoreCase()))
+                .toList();
+    }
+
+    static Object shapeOf(Filter rawFilter, List<PropertyStringFilter> values) {
+        if (rawFilter == null) {
+            return null;
+        }
+        if (rawFilter instanceof AndFilter filter) {
+            return new AndShape(filter.getChildren().stream()
+                    .map(f -> shapeOf(f, values))
+                    .toList());
+        } else if (rawFilter instanceof OrFilter filter) {
+            return new OrShape(filter.getChildren().stream()
+                    .map(f -> shapeOf(f, values))
+                    .toList());
+        } else if (rawFilter instanceof PropertyStringFilter filter) {
+            values.add(filter);
+            return new PropertyShape(filter.getPropertyId(), filter.getMatcher());
+        } else {
+            throw new IllegalArgumentException(
+                    "Unknown filter type " + rawFilter.getClass().getName());
+        }
+    }
+
+    private enum QueryKind {
+        COUNT,
+        MATCH,
+        LIST,
+        KEYSET,
+        KEYSET_SEEK
+    }
+
+    /**
+     * Structural key of a query. For keyset seek queries, {@code nullKeys} has
+     * a bit set for every sort key whose cursor value is {@literal null},
+     * since those keys are compared with {@code is null} instead of a
+     * parameter.
+     */
+    private record QueryKey(Class<?> entity, QueryKind kind, Object filter, List<SortShape> sort, long nullKeys) {}
+
+    private record AndShape(List<Object> children) {}
+
+    private record OrShape(List<Object> children) {}
+
+    private record PropertyShape(String propertyId, PropertyStringFilter.Matcher matcher) {}
+
+    private record SortShape(String property, boolean ascending, boolean ignoreCase) {}
+
+    private record KeyColumn(String expression, boolean ascending, boolean nullable) {}
+
+    /**
+     * Binds the value of the filter at position {@code filterIndex} to a query
+     * parameter, after conversion to the type expected by the query.
+     */
+    private record Binding(String parameter, int filterIndex, Function<String, Object> converter) {}
+
+    private record CompiledQuery(String jpql, List<Binding> bindings) {
+
+        static final CompiledQuery UNSUPPORTED = new CompiledQuery(null, List.of());
+
+        <R> TypedQuery<R> bind(TypedQuery<R> query, List<PropertyStringFilter> values) {
+            for (Binding binding : bindings) {
+                String value = values.get(binding.filterIndex()).getFilterValue();
+                query.setParameter(binding.parameter(), binding.converter().apply(value));
+            }
+            return query;
+        }
+    }
+
+    private static final class QueryCompiler {
+
+        private final Metamodel metamodel;
+        private final Class<?> entity;
+        private final List<Binding> bindings = new ArrayList<>();
+        private int filterIndex;
+
+        private QueryCompiler(Metamodel metamodel, Class<?> entity) {
+            this.metamodel = metamodel;
+            this.entity = entity;
+        }
+
+        CompiledQuery compile(QueryKey key) {
+            if (key.kind() == QueryKind.KEYSET || key.kind() == QueryKind.KEYSET_SEEK) {
+                return compileKeyset(key);
+            }
+            String entityName = metamodel.entity(entity).getName();
+            String selection =
+                    switch (key.kind()) {
+                        case COUNT -> "count(" + ALIAS + ")";
+                        case MATCH -> "1";
+                        default -> ALIAS;
+                    };
+            StringBuilder jpql = new StringBuilder("select ").append(selection);
+            jpql.append(" from ").append(entityName).append(' ').append(ALIAS);
+            if (key.filter() != null) {
+                jpql.append(" where ").append(predicate(key.filter()));
+            }
+            if (!key.sort().isEmpty()) {
+                jpql.append(" order by ")
+                        .append(key.sort().stream().map(this::order).collect(Collectors.joining(", ")));
+            }
+            return new CompiledQuery(jpql.toString(), List.copyOf(bindings));
+        }
+
+        private CompiledQuery compileKeyset(QueryKey key) {
+            List<KeyColumn> keys = keyColumns(key.sort());
+            if (keys == null) {
+                return CompiledQuery.UNSUPPORTED;
+            }
+            String entityName = metamodel.entity(entity).getName();
+            StringBuilder jpql = new StringBuilder("select ").append(ALIAS);
+            keys.forEach(column -> jpql.append(", ").append(column.expression()));
+            jpql.append(" from ").append(entityName).append(' ').append(ALIAS);
+            List<String> conditions = new ArrayList<>();
+            if (key.filter() != null) {
+                conditions.add(predicate(key.filter()));
+            }
+            if (key.kind() == QueryKind.KEYSET_SEEK) {
+                conditions.add(seekPredicate(keys, key.nullKeys()));
+            }
+            if (!conditions.isEmpty()) {
+                jpql.append(" where ").append(String.join(" and ", conditions));
+            }
+            jpql.append(" order by ")
+                    .append(keys.stream()
+                            .map(column -> column.expression()
+                                    + (column.ascending() ? " asc" : " desc")
+                                    + (column.nullable() ? " nulls last" : ""))
+                            .collect(Collectors.joining(", ")));
+            return new CompiledQuery(jpql.toString(), List.copyOf(bindings));
+        }
+
+        // Sort keys followed by the entity ID, that makes the order total.
+        // Returns null if rows cannot be located by their sort keys.
+        private List<KeyColumn> keyColumns(List<SortShape> sort) {
+            EntityType<?> entityType = metamodel.entity(entity);
+            if (!entityType.hasSingleIdAttribute()) {
+                return null;
+            }
+            String idName = entityType.getSingularAttributes().stream()
+                    .filter(SingularAttribute::isId)
+                    .map(Attribute::getName)
+                    .findFirst()
+                    .orElse(null);
+            if (idName == null) {
+                return null;
+            }
+            List<KeyColumn> keys = new ArrayList<>();
+            boolean sortedById = false;
+            for (SortShape order : sort) {
+                List<Attribute<?, ?>> attributes = resolveProperty(order.property());
+                boolean nullable = false;
+                for (Attribute<?, ?> attribute : attributes) {
+                    if (!(attribute instanceof SingularAttribute<?, ?> singular)) {
+                        return null;
+                    }
+                    nullable |= singular.isOptional();
+                }
+                if (attributes.get(attributes.size() - 1).getPersistentAttributeType()
+                        != Attribute.PersistentAttributeType.BASIC) {
+                    return null;
+                }
+                String expression = path(order.property());
+                if (order.ignoreCase()) {
+                    expression = "lower(" + expression + ")";
+                }
+                keys.add(new KeyColumn(expression, order.ascending(), nullable));
+                sortedById |= !order.ignoreCase() && order.property().equals(idName);
+            }
+            if (!sortedById) {
+                keys.add(new KeyColumn(path(idName), true, false));
+            }
+            return keys;
+        }
+
+        // Rows that come after the cursor: for some key i, all previous keys
+        // are equal to the cursor and key i follows the cursor value. Nulls
+        // are sorted last, so nothing follows a null value.
+        private static String seekPredicate(List<KeyColumn> keys, long nullKeys) {
+            List<String> terms = new ArrayList<>();
+            List<String> equalities = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                KeyColumn column = keys.get(i);
+                boolean nullValue = (nullKeys & (1L << i)) != 0;
+                if (!nullValue) {
+                    String follows = column.expression() + (column.ascending() ? " > " : " < ") + ":k" + i;
+                    if (column.nullable()) {
+                        follows = "(" + follows + " or " + column.expression() + " is null)";
+                    }
+                    List<String> term = new ArrayList<>(equalities);
+                    term.add(follows);
+                    terms.add(String.join(" and ", term));
+                }
+                equalities.add(column.expression() + (nullValue ? " is null" : " = :k" + i));
+            }
+            if (terms.isEmpty()) {
+                return "1=0";
+            }
+            return terms.stream().collect(Collectors.joining(") or (", "((", "))"));
+        }
+
+        private String predicate(Object shape) {
+            if (shape instanceof AndShape and) {
+                return junction(and.children(), " and ", "1=1");
+            } else if (shape instanceof OrShape or) {
+                return junction(or.children(), " or ", "1=0");
+            }
+            PropertyShape property = (PropertyShape) shape;
+            int index = filterIndex++;
+            return propertyPredicate(property, index);
+        }
+
+        private String junction(List<Object> children, String operator, String empty) {
+            if (children.isEmpty()) {
+                return empty;
+            }
+            return children.stream().map(this::predicate).collect(Collectors.joining(operator, "(", ")"));
+        }
+
+        private String order(SortShape sort) {
+            // fails for properties not defined by the entity
+            propertyJavaType(sort.property());
+            String path = path(sort.property());
+            if (sort.ignoreCase()) {
+                path = "lower(" + path + ")";
+            }
+            return path + (sort.ascending() ? " asc" : " desc");
+        }
+
+        private String propertyPredicate(PropertyShape filter, int index) {
+            String path = path(filter.propertyId());
+            Class<?> javaType = propertyJavaType(filter.propertyId());
+            PropertyStringFilter.Matcher matcher = filter.matcher();
+            if (javaType == String.class) {
+                switch (matcher) {
+                    case EQUALS:
+                        return "lower(" + path + ") = " + parameter(index, String::toLowerCase);
+                    case CONTAINS:
+                        return "lower(" + path + ") like "
+                                + parameter(index, value -> "%" + value.toLowerCase() + "%");
+                    case GREATER_THAN:
+                        throw new IllegalArgumentException("A string cannot be filtered using greater than");
+                    case LESS_THAN:
+                        throw new IllegalArgumentException("A string cannot be filtered using less than");
+                    default:
+                        break;
+                }
+            } else if (isNumber(javaType)) {
+                Function<String, Object> converter = numberConverter(javaType);
+                switch (matcher) {
+                    case EQUALS:
+                        return path + " = " + parameter(index, converter);
+                    case CONTAINS:
+                        throw new IllegalArgumentException("A number cannot be filtered using contains");
+                    case GREATER_THAN:
+                        return path + " > " + parameter(index, converter);
+                    case LESS_THAN:
+                        return path + " < " + parameter(index, converter);
+                    default:
+                        break;
+                }
+            } else if (javaType == boolean.class || javaType == Boolean.class) {
+                switch (matcher) {
+                    case EQUALS:
+                        return path + " = " + parameter(index, Boolean::valueOf);
+                    case CONTAINS:
+                        throw new IllegalArgumentException("A boolean cannot be filtered using contains");
+                    case GREATER_THAN:
+                        throw new IllegalArgumentException("A boolean cannot be filtered using greater than");
+                    case LESS_THAN:
+                        throw new IllegalArgumentException("A boolean cannot be filtered using less than");
+                    default:
+                        break;
+                }
+            } else if (javaType == Date.class) {
+                return comparison(
+                        path,
+                        matcher,
+                        index,
+                        "A date cannot be filtered using contains",
+                        value -> Date.from(
+                                LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            } else if (javaType == LocalDate.class) {
+                return comparison(
+                        path, matcher, index, "A date cannot be filtered using contains", LocalDate::parse);
+            } else if (javaType == LocalTime.class) {
+                return comparison(
+                        path, matcher, index, "A time cannot be filtered using contains", LocalTime::parse);
+            } else if (javaType == LocalDateTime.class) {
+                Function<String, Object> minValue = value -> LocalDateTime.of(LocalDate.parse(value), LocalTime.MIN);
+                Function<String, Object> maxValue = value -> LocalDateTime.of(LocalDate.parse(value), LocalTime.MAX);
+                switch (matcher) {
+                    case EQUALS:
+                        return path + " between " + parameter(index, minValue) + " and "
+                                + parameter(index, maxValue);
+                    case CONTAINS:
+                        throw new IllegalArgumentException("A datetime cannot be filtered using contains");
+                    case GREATER_THAN:
+                        return path + " > " + parameter(index, maxValue);
+                    case LESS_THAN:
+                        return path + " < " + parameter(index, minValue);
+                    default:
+                        break;
+                }
+            }
+            throw new IllegalArgumentException("No implementation for " + javaType + " using " + matcher + ".");
+        }
+
+        private String comparison(
+                String path,
+                PropertyStringFilter.Matcher matcher,
+                int index,
+                String containsError,
+                Function<String, Object> converter) {
+            return switch (matcher) {
+                case EQUALS -> path + " = " + parameter(index, converter);
+                case CONTAINS -> throw new IllegalArgumentException(containsError);
+                case GREATER_THAN -> path + " > " + parameter(index, converter);
+                case LESS_THAN -> path + " < " + parameter(index, converter);
+            };
+        }
+
+        private String parameter(int index, Function<String, Object> converter) {
+            String name = "p" + bindings.size();
+            bindings.add(new Binding(name, index, converter));
+            return ":" + name;
+        }
+
+        private static String path(String propertyId) {
+            return ALIAS + "." + propertyId;
+        }
+
+        // Resolving the property through the metamodel also guarantees that
+        // only existing attribute names end up in the query text
+        private Class<?> propertyJavaType(String propertyId) {
+            List<Attribute<?, ?>> attributes = resolveProperty(propertyId);
+            return attributes.get(attributes.size() - 1).getJavaType();
+        }
+
+        private List<Attribute<?, ?>> resolveProperty(String propertyId) {
+            ManagedType<?> type = metamodel.managedType(entity);
+            List<Attribute<?, ?>> attributes = new ArrayList<>();
+            for (String part : propertyId.split("\\.")) {
+                if (type == null) {
+                    throw new IllegalArgumentException(
+                            "Cannot resolve property '" + propertyId + "' of " + entity.getName());
+                }
+                Attribute<?, ?> attribute = type.getAttribute(part);
+                attributes.add(attribute);
+                type = attribute instanceof SingularAttribute<?, ?> singular
+                                && singular.getType() instanceof ManagedType<?> managedType
+                        ? managedType
+                        : null;
+            }
+            return attributes;
+        }
+
+        private static boolean isNumber(Class<?> javaType) {
+            return javaType == int.class
+                    || javaType == Integer.class
+                    || javaType == double.class
+                    || javaType == Double.class
+                    || javaType == long.class
+                    || javaType == Long.class;
+        }
+
+        private static Function<String, Object> numberConverter(Class<?> javaType) {
+            if (javaType == int.class || javaType == Integer.class) {
+                return Integer::valueOf;
+            } else if (javaType == long.class || javaType == Long.class) {
+                return Long::valueOf;
+            }
+            return Double::valueOf;
+        }
+    }
+
+    /**
+     * Usage statistics of the filter query cache.
+     *
+     * @param hits   number of lookups served by a cached query
+     * @param misses number of lookups that required generating a new query
+     * @param size   number of queries currently cached
+     */
+    public record Statistics(long hits, long misses, int size) {
+
+        /**
+         * Gets the ratio of lookups served by a cached query.
+         *
+         * @return the hit ratio, between {@literal 0} and {@literal 1}, or
+         * {@literal 0} if the cache has never been used
+         */
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.crud;
+
+import jakarta.enterprise.event.Observes;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+
+import com.github.mcollovati.quarkus.hilla.HillaConfiguration;
+
+/**
+ * Configures {@link FilterableRepositorySupport} when the application starts,
+ * and clears its caches when the application stops.
+ * <p>
+ * The caches are keyed by entity class; clearing them on shutdown prevents a
+ * dev mode restart from keeping the classes of the previous class loader
+ * reachable.
+ */
+public class FilterableRepositoryCaches {
+
+    void configureOnStartup(@Observes StartupEvent event, HillaConfiguration configuration) {
+        FilterableRepositorySupport.setKeysetPaginationEnabled(configuration.crud().keysetPagination());
+    }
+
+    void clearOnShutdown(@Observes ShutdownEvent event) {
+        FilterableRepositorySupport.queryCache().clear();
+        FilterableRepositorySupport.keysetPagination().clear();
+    }
+}
@@ -17,113 +17,128 @@ package com.github.mcollovati.quarkus.hilla.crud;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Expression;
-import jakarta.persistence.criteria.Order;
-import jakarta.persistence.criteria.Path;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 
-import com.vaadin.hilla.crud.filter.AndFilter;
 import com.vaadin.hilla.crud.filter.Filter;
-import com.vaadin.hilla.crud.filter.OrFilter;
-import com.vaadin.hilla.crud.filter.PropertyStringFilter;
 import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
-import static com.github.mcollovati.quarkus.hilla.crud.PropertyStringFilterSpecification.getPath;
-
-@SuppressWarnings("unchecked")
 public final class FilterableRepositorySupport {
 
+    private static final FilterQueryCache QUERY_CACHE = new FilterQueryCache();
+    private static final KeysetPagination KEYSET_PAGINATION = new KeysetPagination(QUERY_CACHE);
+
+    // set at startup from HillaConfiguration.CrudConfig
+    private static volatile boolean keysetPaginationEnabled;
+
     private FilterableRepositorySupport() {}
 
     public static <T> long count(Filter filter, Class<T> entityClass) {
         EntityManager entityManager = JpaOperations.INSTANCE.getEntityManager(entityClass);
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
-        Root<T> root = countQuery.from(entityClass);
-        Predicate predicate = toPredicate(filter, entityClass, builder, root);
-        countQuery.select(builder.count(root));
-        if (predicate != null) {
-            countQuery.where(predicate);
-        }
-        return entityManager.createQuery(countQuery).getSingleResult();
+        return QUERY_CACHE.countQuery(entityManager, entityClass, filter).getSingleResult();
+    }
+
+    public static <T> long countUpTo(Filter filter, int limit, Class<T> entityClass) {
+        EntityManager entityManager = JpaOperations.INSTANCE.getEntityManager(entityClass);
+        return QUERY_CACHE
+                .matchQuery(entityManager, entityClass, filter)
+                .setMaxResults(limit)
+                .getResultList()
+                .size();
     }
 
     public static <T> List<T> list(Pageable pageable, Filter filter, Class<T> entityClass) {
         EntityManager entityManager = JpaOperations.INSTANCE.getEntityManager(entityClass);
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<T> query = builder.createQuery(entityClass);
-        Root<T> root = query.from(entityClass);
-        Predicate predicate = toPredicate(filter, entityClass, builder, root);
-        if (predicate != null) {
-            query.where(predicate);
-        }
-        if (pageable != null && pageable.getSortOr(Sort.unsorted()).isSorted()) {
-            query.orderBy(toOrder(pageable.getSort(), builder, root));
+        if (pageable != null && pageable.isPaged() && keysetPaginationEnabled) {
+            List<T> page = KEYSET_PAGINATION.list(entityManager, entityClass, pageable, filter);
+            if (page != null) {
+                return page;
+            }
         }
-        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        Sort sort = pageable != null ? pageable.getSortOr(Sort.unsorted()) : null;
+        TypedQuery<T> typedQuery = QUERY_CACHE.listQuery(entityManager, entityClass, filter, sort);
         if (pageable != null && pageable.isPaged()) {
             typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
         }
         return typedQuery.getResultList();
     }
 
-    private static <T> Predicate toPredicate(Filter rawFilter, Class<T> entity, CriteriaBuilder builder, Root<T> root) {
-        if (rawFilter == null) {
-            return null;
-        }
-        if (rawFilter instanceof AndFilter filter) {
-            return builder.and(filter.getChildren().stream()
-                    .map(f -> toPredicate(f, entity, builder, root))
-                    .toArray(Predicate[]::new));
-        } else if (rawFilter instanceof OrFilter filter) {
-            return builder.or(filter.getChildren().stream()
-                    .map(f -> toPredicate(f, entity, builder, root))
-                    .toArray(Predicate[]::new));
-        } else if (rawFilter instanceof PropertyStringFilter filter) {
-            Class<?> javaType = extractPropertyJavaType(entity, filter.getPropertyId(), builder);
-            return new PropertyStringFilterSpecification<>(filter, javaType).toPredicate((Root) root, builder);
+    /**
+     * Notifies that entities of the given type have been created, updated or
+     * deleted, so that state derived from previous reads, such as keyset
+     * pagination cursors, is dropped.
+     *
+     * @param entityClass the entity type, or {@literal null} if unknown, to
+     *                    drop the state of all entities
+     */
+    public static void entityWritten(Class<?> entityClass) {
+        if (entityClass == null) {
+            KEYSET_PAGINATION.invalidateAll();
         } else {
-            throw new IllegalArgumentException(
-                    "Unknown filter type " + rawFilter.getClass().getName());
+            KEYSET_PAGINATION.invalidate(entityClass);
         }
     }
 
-    private static <T> List<Order> toOrder(Sort sort, CriteriaBuilder builder, Root<T> root) {
-        return sort.stream()
-                .map(order -> {
-                    Expression<String> expr = getPath(order.getProperty(), root);
-                    if (order.isIgnoreCase()) {
-                        expr = builder.lower(expr);
-                    }
-                    return (order.isAscending()) ? builder.asc(expr) : builder.desc(expr);
-                })
-                .toList();
+    /**
+     * Resolves the entity type handled by a repository, from the type
+     * arguments of the given repository interface.
+     *
+     * @param repositoryClass     the repository implementation class
+     * @param repositoryInterface the generic repository interface, whose first
+     *                            type parameter is the entity type
+     * @return the entity type, or {@literal null} if it cannot be resolved
+     */
+    public static Class<?> entityClassOf(Class<?> repositoryClass, Class<?> repositoryInterface) {
+        for (Class<?> type = repositoryClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            Class<?> entityClass = entityClassOf(type.getGenericInterfaces(), repositoryInterface);
+            if (entityClass != null) {
+                return entityClass;
+            }
+        }
+        return null;
     }
 
-    private static Class<?> extractPropertyJavaType(Class<?> entity, String propertyId, CriteriaBuilder builder) {
-        if (propertyId.contains(".")) {
-            String[] parts = propertyId.split("\\.");
-            Root<?> root = builder.createQuery(entity).from(entity);
-            Path<?> path = root.get(parts[0]);
-            int i = 1;
-            while (i < parts.length) {
-                path = path.get(parts[i]);
-                i++;
+    private static Class<?> entityClassOf(Type[] interfaces, Class<?> repositoryInterface) {
+        for (Type candidate : interfaces) {
+            if (candidate instanceof ParameterizedType parameterized
+                    && parameterized.getRawType() == repositoryInterface) {
+                return parameterized.getActualTypeArguments()[0] instanceof Class<?> entityClass ? entityClass : null;
+            }
+            Class<?> raw = candidate instanceof ParameterizedType parameterized
+                    ? (Class<?>) parameterized.getRawType()
+                    : (Class<?>) candidate;
+            Class<?> entityClass = entityClassOf(raw.getGenericInterfaces(), repositoryInterface);
+            if (entityClass != null) {
+                return entityClass;
             }
-            return path.getJavaType();
-        } else {
-            return JpaOperations.INSTANCE
-                    .getEntityManager(entity)
-                    .getMetamodel()
-                    .entity(entity)
-                    .getAttribute(propertyId)
-                    .getJavaType();
         }
+        return null;
+    }
+
+    /**
+     * Gets the cache of the queries generated for filtered {@code list} and
+     * {@code count} calls, for example to inspect its hit ratio.
+     *
+     * @return the filter query cache
+     */
+    public static FilterQueryCache queryCache() {
+        return QUERY_CACHE;
+    }
+
+    /**
+     * Gets the keyset pagination support used for filtered {@code list} calls
+     * when {@code vaadin.hilla.crud.keyset-pagination} is enabled.
+     *
+     * @return the keyset pagination support
+     */
+    public static KeysetPagination keysetPagination() {
+        return KEYSET_PAGINATION;
+    }
+
+    static void setKeysetPaginationEnabled(boolean enabled) {
+        keysetPaginationEnabled = enabled;
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.crud;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.hilla.crud.filter.Filter;
+import com.vaadin.hilla.crud.filter.PropertyStringFilter;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset (seek) pagination for filtered lists.
+ * <p>
+ * Clients such as Auto Grid request pages by offset. When a page is loaded,
+ * the sort keys of its last row are remembered as the cursor for the page
+ * that starts right after it. If that page is requested next, the query
+ * seeks directly to the rows following the cursor instead of letting the
+ * database scan and discard all the rows before the offset. Requests for
+ * pages without a known cursor, for example when jumping to a random
+ * position, are served with an offset query using the same ordering.
+ * <p>
+ * To make the order total, the entity ID is always used as the last sort key,
+ * and {@literal null} values are sorted last. Keyset pagination is only
+ * applied to entities with a single ID attribute and to sort orders made of
+ * basic attributes; other requests use regular offset pagination.
+ * <p>
+ * Cursors are kept per persistence unit and tenant, since the same query may
+ * return different rows for each of them. Sessions with enabled Hibernate
+ * filters always use offset pagination, because the rows they see depend on
+ * the filter parameters.
+ * <p>
+ * A cursor is only valid as long as the rows before it do not change. The
+ * cursors of an entity are dropped when it is written through a
+ * {@code CrudRepositoryService}, and every cursor expires after
+ * {@link #CURSOR_TTL}, so that writes made by other means are picked up
+ * shortly after.
+ */
+public final class KeysetPagination {
+
+    static final int MAX_CURSORS = 1024;
+    static final Duration CURSOR_TTL = Duration.ofSeconds(30);
+
+    private final FilterQueryCache queryCache;
+    private final Map<CursorKey, Cursor> cursors = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CursorKey, Cursor> eldest) {
+            return size() > MAX_CURSORS;
+        }
+    });
+    private final LongAdder seeks = new LongAdder();
+    private final LongAdder offsetQueries = new LongAdder();
+
+    KeysetPagination(FilterQueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    /**
+     * Lists a page of entities using keyset pagination when possible.
+     *
+     * @param entityManager the entity manager
+     * @param entityClass   the entity type
+     * @param pageable      the requested page, must be paged
+     * @param filter        the filter, or {@literal null} to list all entities
+     * @param <T>           the entity type
+     * @return the entities of the page, or {@literal null} if keyset pagination
+     * is not supported for the session, the entity or the requested sort order
+     */
+    <T> List<T> list(EntityManager entityManager, Class<T> entityClass, Pageable pageable, Filter filter) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        if (session.getLoadQueryInfluencers().hasEnabledFilters()) {
+            return null;
+        }
+        CursorScope scope = new CursorScope(session.getFactory(), session.getTenantIdentifierValue());
+        Sort sort = pageable.getSortOr(Sort.unsorted());
+        int pageSize = pageable.getPageSize();
+        long offset = pageable.getOffset();
+        List<PropertyStringFilter> filters = new ArrayList<>();
+        Object filterShape = FilterQueryCache.shapeOf(filter, filters);
+        List<String> filterValues =
+                filters.stream().map(PropertyStringFilter::getFilterValue).toList();
+
+        Object[] cursor = offset == 0
+                ? null
+                : cursorAt(new CursorKey(scope, entityClass, filterShape, filterValues, sort, pageSize, offset));
+        TypedQuery<Object[]> query = queryCache.keysetQuery(entityManager, entityClass, filter, sort, cursor);
+        if (query == null) {
+            return null;
+        }
+        if (cursor == null) {
+            query.setFirstResult((int) offset);
+            offsetQueries.increment();
+        } else {
+            seeks.increment();
+        }
+        List<Object[]> rows = query.setMaxResults(pageSize).getResultList();
+        if (rows.size() == pageSize) {
+            Object[] last = rows.get(rows.size() - 1);
+            cursors.put(
+                    new CursorKey(scope, entityClass, filterShape, filterValues, sort, pageSize, offset + pageSize),
+                    new Cursor(Arrays.copyOfRange(last, 1, last.length), System.nanoTime() + CURSOR_TTL.toNanos()));
+        }
+        return rows.stream().map(row -> entityClass.cast(row[0])).toList();
+    }
+
+    /**
+     * Forgets the cursors of the given entity, because its rows have changed.
+     *
+     * @param entityClass the entity type
+     */
+    public void invalidate(Class<?> entityClass) {
+        synchronized (cursors) {
+            cursors.keySet().removeIf(key -> key.entity() == entityClass);
+        }
+    }
+
+    /**
+     * Forgets the cursors of all entities.
+     */
+    public void invalidateAll() {
+        cursors.clear();
+    }
+
+    /**
+     * Gets how many pages have been loaded by seeking from a cursor.
+     *
+     * @return the number of seek queries
+     */
+    public long getSeekCount() {
+        return seeks.sum();
+    }
+
+    /**
+     * Gets how many pages have been loaded by offset, because no cursor was
+     * available for the requested position.
+     *
+     * @return the number of offset queries
+     */
+    public long getOffsetCount() {
+        return offsetQueries.sum();
+    }
+
+    /**
+     * Forgets all cursors and resets the counters.
+     */
+    public void clear() {
+        invalidateAll();
+        seeks.reset();
+        offsetQueries.reset();
+    }
+
+    private Object[] cursorAt(CursorKey key) {
+        Cursor cursor = cursors.get(key);
+        if (cursor == null) {
+            return null;
+        }
+        if (System.nanoTime() - cursor.expiresAt() > 0) {
+            cursors.remove(key, cursor);
+            return null;
+        }
+        return cursor.keys();
+    }
+
+    private record Cursor(Object[] keys, long expiresAt) {}
+
+    private record CursorScope(Object persistenceUnit, Object tenant) {}
+
+    private record CursorKey(
+            CursorScope scope,
+            Class<?> entity,
+            Object filterShape,
+            List<String> filterValues,
+            Sort sort,
+            int pageSize,
+            long offset) {}
+}
@@ -34,6 +34,15 @@ import com.vaadin.hilla.crud.filter.PropertyStringFilter;
  *
  * Adaptation is required to remove the Spring Specification<T> interface, not supported by quarkus-spring-data extension
  */
+/**
+ * Translates a {@link PropertyStringFilter} to a JPA criteria predicate.
+ *
+ * @param <T> the entity type
+ * @deprecated filterable repositories translate filters to JPQL through
+ * {@link FilterQueryCache}, which applies the same rules; this class is no
+ * longer used by the extension and will be removed in a future version.
+ */
+@Deprecated(forRemoval = true)
 public class PropertyStringFilterSpecification<T> {
 
     private final PropertyStringFilter filter;
@@ -16,15 +16,21 @@
 package com.github.mcollovati.quarkus.hilla.crud.panache;
 
 import jakarta.transaction.Transactional;
+import java.util.List;
 
 import com.vaadin.hilla.EndpointExposed;
 import com.vaadin.hilla.crud.CrudService;
 import org.jspecify.annotations.Nullable;
 
+import com.github.mcollovati.quarkus.hilla.crud.BatchWriteSupport;
+import com.github.mcollovati.quarkus.hilla.crud.FilterableRepositorySupport;
+
 @EndpointExposed
 public class CrudRepositoryService<T, ID, R extends FilterableRepository<T, ID>> extends ListRepositoryService<T, ID, R>
         implements CrudService<T, ID> {
 
+    private volatile Class<?> entityClass;
+
     protected CrudRepositoryService() {}
 
     protected CrudRepositoryService(R repository) {
@@ -34,11 +40,8 @@ public class CrudRepositoryService<T, ID, R extends FilterableRepository<T, ID>>
     @Override
     @Transactional
     public @Nullable T save(T value) {
-        if (getRepository().isNew(value)) {
-            getRepository().persist(value);
-        } else {
-            getRepository().getEntityManager().merge(value);
-        }
+        persistOrMerge(value);
+        entityWritten();
         return value;
     }
 
@@ -46,5 +49,51 @@ public class CrudRepositoryService<T, ID, R extends FilterableRepository<T, ID>>
     @Transactional
     public void delete(ID id) {
         getRepository().deleteById(id);
+        entityWritten();
+    }
+
+    /**
+     * Saves the given entities in a single transaction, using JDBC batching
+     * where possible.
+     *
+     * @param values the entities to save
+     * @return the saved entities
+     */
+    @Transactional
+    public List<T> saveAll(List<T> values) {
+        List<T> saved = BatchWriteSupport.saveAll(getRepository().getEntityManager(), values, this::persistOrMerge);
+        entityWritten();
+        return saved;
+    }
+
+    /**
+     * Deletes the entities with the given IDs in a single transaction, using
+     * JDBC batching where possible.
+     *
+     * @param ids the IDs of the entities to delete
+     */
+    @Transactional
+    public void deleteAll(List<ID> ids) {
+        BatchWriteSupport.deleteAll(getRepository().getEntityManager(), ids, getRepository()::deleteById);
+        entityWritten();
+    }
+
+    private void entityWritten() {
+        getCountStrategy().invalidate();
+        Class<?> type = entityClass;
+        if (type == null) {
+            type = FilterableRepositorySupport.entityClassOf(getRepository().getClass(), FilterableRepository.class);
+            entityClass = type;
+        }
+        FilterableRepositorySupport.entityWritten(type);
+    }
+
+    private T persistOrMerge(T value) {
+        if (getRepository().isNew(value)) {
+            getRepository().persist(value);
+        } else {
+            getRepository().getEntityManager().merge(value);
+        }
+        return value;
     }
 }
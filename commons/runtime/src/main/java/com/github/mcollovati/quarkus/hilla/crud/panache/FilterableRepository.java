@@ -35,6 +35,11 @@ public interface FilterableRepository<T, ID> extends PanacheRepositoryBase<T, ID
                 "This method is normally automatically overwritten in subclasses at build time.");
     }
 
+    default long countUpTo(Filter filter, int limit) {
+        throw new IllegalStateException(
+                "This method is normally automatically overwritten in subclasses at build time.");
+    }
+
     default List<T> list(Pageable pageable, Filter filter) {
         throw new IllegalStateException(
                 "This method is normally automatically overwritten in subclasses at build time.");
@@ -17,6 +17,7 @@ package com.github.mcollovati.quarkus.hilla.crud.panache;
 
 import jakarta.inject.Inject;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import com.vaadin.hilla.EndpointExposed;
@@ -27,6 +28,8 @@ import com.vaadin.hilla.crud.filter.Filter;
 import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Pageable;
 
+import com.github.mcollovati.quarkus.hilla.crud.CountStrategy;
+
 /**
  * Base list service for Panache repositories that provides CRUD list operations.
  *
@@ -40,6 +43,20 @@ public class ListRepositoryService<T, ID, R extends FilterableRepository<T, ID>>
     @Inject
     R repository;
 
+    private CountStrategy countStrategy = CountStrategy.exact();
+
+    private final CountStrategy.Counter counter = new CountStrategy.Counter() {
+        @Override
+        public long count(@Nullable Filter filter) {
+            return repository.count(filter);
+        }
+
+        @Override
+        public long countUpTo(@Nullable Filter filter, int limit) {
+            return repository.countUpTo(filter, limit);
+        }
+    };
+
     /**
      * Creates a new instance with dependency injection.
      */
@@ -80,6 +97,25 @@ public class ListRepositoryService<T, ID, R extends FilterableRepository<T, ID>>
 
     @Override
     public long count(@Nullable Filter filter) {
-        return repository.count(filter);
+        return countStrategy.count(filter, counter);
+    }
+
+    /**
+     * Gets the strategy used to count entities.
+     *
+     * @return the count strategy
+     */
+    protected final CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    /**
+     * Sets the strategy used to count entities, for example to cache counts
+     * or to stop counting at an upper bound on large tables.
+     *
+     * @param countStrategy the count strategy, not {@literal null}
+     */
+    protected final void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = Objects.requireNonNull(countStrategy);
     }
 }
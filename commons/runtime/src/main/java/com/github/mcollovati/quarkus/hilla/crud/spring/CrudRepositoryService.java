@@ -15,17 +15,26 @@
  */
 package com.github.mcollovati.quarkus.hilla.crud.spring;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import java.util.List;
 
 import com.vaadin.hilla.EndpointExposed;
 import com.vaadin.hilla.crud.CrudService;
+import io.quarkus.hibernate.orm.panache.runtime.JpaOperations;
 import org.jspecify.annotations.Nullable;
+import org.springframework.core.ResolvableType;
 import org.springframework.data.repository.CrudRepository;
 
+import com.github.mcollovati.quarkus.hilla.crud.BatchWriteSupport;
+import com.github.mcollovati.quarkus.hilla.crud.FilterableRepositorySupport;
+
 @EndpointExposed
 public class CrudRepositoryService<T, ID, R extends CrudRepository<T, ID> & FilterableRepository<T, ID>>
         extends ListRepositoryService<T, ID, R> implements CrudService<T, ID> {
 
+    private volatile Class<?> entityClass;
+
     protected CrudRepositoryService() {}
 
     protected CrudRepositoryService(R repository) {
@@ -35,12 +44,65 @@ public class CrudRepositoryService<T, ID, R extends CrudRepository<T, ID> & Filt
     @Override
     @Transactional
     public @Nullable T save(T value) {
-        return getRepository().save(value);
+        T saved = getRepository().save(value);
+        entityWritten();
+        return saved;
     }
 
     @Override
     @Transactional
     public void delete(ID id) {
         getRepository().deleteById(id);
+        entityWritten();
+    }
+
+    /**
+     * Saves the given entities in a single transaction, using JDBC batching
+     * where possible.
+     *
+     * @param values the entities to save
+     * @return the saved entities
+     */
+    @Transactional
+    public List<T> saveAll(List<T> values) {
+        List<T> saved = BatchWriteSupport.saveAll(getEntityManager(), values, getRepository()::save);
+        entityWritten();
+        return saved;
+    }
+
+    /**
+     * Deletes the entities with the given IDs in a single transaction, using
+     * JDBC batching where possible.
+     *
+     * @param ids the IDs of the entities to delete
+     */
+    @Transactional
+    public void deleteAll(List<ID> ids) {
+        BatchWriteSupport.deleteAll(getEntityManager(), ids, getRepository()::deleteById);
+        entityWritten();
+    }
+
+    private void entityWritten() {
+        getCountStrategy().invalidate();
+        FilterableRepositorySupport.entityWritten(getEntityClass());
+    }
+
+    private EntityManager getEntityManager() {
+        return JpaOperations.INSTANCE.getEntityManager(getEntityClass());
+    }
+
+    private Class<?> getEntityClass() {
+        Class<?> type = entityClass;
+        if (type == null) {
+            type = ResolvableType.forClass(getRepository().getClass())
+                    .as(CrudRepository.class)
+                    .resolveGeneric(0);
+            if (type == null) {
+                throw new IllegalStateException(
+                        "Cannot resolve the entity type of repository " + getRepository().getClass());
+            }
+            entityClass = type;
+        }
+        return type;
     }
 }
@@ -17,6 +17,7 @@ package com.github.mcollovati.quarkus.hilla.crud.spring;
 
 import jakarta.inject.Inject;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import com.vaadin.hilla.EndpointExposed;
@@ -28,6 +29,8 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 
+import com.github.mcollovati.quarkus.hilla.crud.CountStrategy;
+
 @EndpointExposed
 public class ListRepositoryService<T, ID, R extends CrudRepository<T, ID> & FilterableRepository<T, ID>>
         implements ListService<T>, GetService<T, ID>, CountService {
@@ -35,6 +38,20 @@ public class ListRepositoryService<T, ID, R extends CrudRepository<T, ID> & Filt
     @Inject
     R repository;
 
+    private CountStrategy countStrategy = CountStrategy.exact();
+
+    private final CountStrategy.Counter counter = new CountStrategy.Counter() {
+        @Override
+        public long count(@Nullable Filter filter) {
+            return repository.count(filter);
+        }
+
+        @Override
+        public long countUpTo(@Nullable Filter filter, int limit) {
+            return repository.countUpTo(filter, limit);
+        }
+    };
+
     protected ListRepositoryService() {}
 
     protected ListRepositoryService(R repository) {
@@ -62,6 +79,14 @@ public class ListRepositoryService<T, ID, R extends CrudRepository<T, ID> & Filt
 
     @Override
     public long count(@Nullable Filter filter) {
-        return repository.count(filter);
+        return countStrategy.count(filter, counter);
+    }
+
+    protected final CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    protected final void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = Objects.requireNonNull(countStrategy);
     }
 }
@@ -24,12 +24,12 @@ import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import org.jboss.resteasy.reactive.server.multipart.FileItem;
 import org.jboss.resteasy.reactive.server.multipart.FormValue;
 import org.jboss.resteasy.reactive.server.multipart.MultipartFormDataInput;
 import org.springframework.http.HttpHeaders;
@@ -41,7 +41,8 @@ import org.springframework.web.multipart.MultipartFile;
  */
 public final class MultipartRequest extends HttpServletRequestWrapper {
 
-    private final Map<String, Collection<FormValue>> formData;
+    private final Map<String, String> parameters = new HashMap<>();
+    private final Map<String, MultipartFile> files = new HashMap<>();
 
     /**
      * Constructs a request object wrapping the given request.
@@ -52,18 +53,28 @@ public final class MultipartRequest extends HttpServletRequestWrapper {
      */
     public MultipartRequest(HttpServletRequest request, MultipartFormDataInput formData) {
         super(request);
-        this.formData = formData.getValues();
+        // form values are indexed once, Hilla looks up the body part and the
+        // files separately
+        formData.getValues().forEach((name, values) -> {
+            for (FormValue value : values) {
+                if (!value.isFileItem()) {
+                    parameters.putIfAbsent(name, value.getValue());
+                }
+            }
+            Iterator<FormValue> iterator = values.iterator();
+            if (iterator.hasNext()) {
+                FormValue first = iterator.next();
+                if (first.isFileItem()) {
+                    files.put(name, new MultipartFileImpl(name, first));
+                }
+            }
+        });
     }
 
     @Override
     public String getParameter(String name) {
-        Collection<FormValue> values = formData.get(name);
-        return Optional.ofNullable(values).stream()
-                .flatMap(Collection::stream)
-                .filter(fv -> !fv.isFileItem())
-                .findFirst()
-                .map(FormValue::getValue)
-                .orElseGet(() -> super.getParameter(name));
+        String value = parameters.get(name);
+        return value != null ? value : super.getParameter(name);
     }
 
     /**
@@ -73,11 +84,7 @@ public final class MultipartRequest extends HttpServletRequestWrapper {
      * {@link MultipartFile} objects as values
      */
     public Map<String, MultipartFile> getFileMap() {
-        return formData.entrySet().stream()
-                .map(e -> Map.entry(e.getKey(), e.getValue().iterator().next()))
-                .filter(e -> e.getValue().isFileItem())
-                .map(e -> new MultipartFileImpl(e.getKey(), e.getValue()))
-                .collect(Collectors.toMap(MultipartFileImpl::getName, Function.identity()));
+        return Collections.unmodifiableMap(files);
     }
 
     private static class MultipartFileImpl implements MultipartFile, Serializable {
@@ -121,12 +128,23 @@ public final class MultipartRequest extends HttpServletRequestWrapper {
 
         @Override
         public byte[] getBytes() throws IOException {
-            return formValue.getFileItem().getInputStream().readAllBytes();
+            FileItem fileItem = formValue.getFileItem();
+            if (fileItem.isInMemory()) {
+                try (InputStream inputStream = fileItem.getInputStream()) {
+                    return inputStream.readAllBytes();
+                }
+            }
+            // sized from the file length, without intermediate buffers
+            return Files.readAllBytes(fileItem.getFile());
         }
 
         @Override
         public InputStream getInputStream() throws IOException {
-            return formValue.getFileItem().getInputStream();
+            FileItem fileItem = formValue.getFileItem();
+            if (fileItem.isInMemory()) {
+                return fileItem.getInputStream();
+            }
+            return Files.newInputStream(fileItem.getFile());
         }
 
         @Override
@@ -137,6 +155,7 @@ public final class MultipartRequest extends HttpServletRequestWrapper {
         @Override
         public void transferTo(Path dest) throws IOException, IllegalStateException {
             Files.deleteIfExists(dest);
+            // uploads stored on disk are moved to the destination
             formValue.getFileItem().write(dest);
         }
     }
@@ -15,22 +15,44 @@
  */
 package com.github.mcollovati.quarkus.hilla.security;
 
-import java.lang.reflect.Method;
+import jakarta.annotation.security.DenyAll;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.event.Observes;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.vaadin.flow.server.auth.AccessAnnotationChecker;
+import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.hilla.EndpointRegistry;
 import com.vaadin.hilla.auth.EndpointAccessChecker;
 import io.vertx.ext.web.RoutingContext;
 
+import com.github.mcollovati.quarkus.hilla.EndpointsRegisteredEvent;
 import com.github.mcollovati.quarkus.hilla.QuarkusEndpointConfiguration;
 import com.github.mcollovati.quarkus.hilla.SpringReplacements;
 
+/**
+ * Resolves access rules of endpoint methods for HTTP security checks.
+ * <p>
+ * Access rules are computed once from the security annotations of the
+ * registered endpoints and kept in a table keyed by endpoint and method name,
+ * so that checking a request only requires a couple of map lookups. The table
+ * is rebuilt after Hilla registers the endpoints again, which is notified by
+ * an {@link EndpointsRegisteredEvent}.
+ */
 public class EndpointUtil {
 
     private final EndpointRegistry registry;
     private final EndpointAccessChecker accessChecker;
     private final QuarkusEndpointConfiguration endpointProperties;
+    private volatile AccessTable accessTable;
+    private final AtomicInteger registrations = new AtomicInteger();
 
     public EndpointUtil(
             EndpointRegistry registry,
@@ -42,42 +64,115 @@ public class EndpointUtil {
     }
 
     public boolean isAnonymousEndpoint(RoutingContext request) {
-        var endpointData = getEndpointData(request);
-        if (endpointData.isEmpty()) {
+        String endpointPrefix = endpointProperties.getNormalizedEndpointPrefix();
+        if (!request.normalizedPath().startsWith(endpointPrefix)) {
             return false;
         }
-        var invokedEndpointClass =
-                SpringReplacements.classUtils_getUserClass(endpointData.get().endpointObject());
-        var methodDeclaringClass = endpointData.get().method().getDeclaringClass();
-        if (methodDeclaringClass.equals(invokedEndpointClass)) {
-            return accessChecker
-                    .getAccessAnnotationChecker()
-                    .hasAccess(endpointData.get().method(), null, role -> false);
-        } else {
-            return accessChecker.getAccessAnnotationChecker().hasAccess(invokedEndpointClass, null, role -> false);
+        String endpointName = request.pathParam("endpoint");
+        String methodName = request.pathParam("method");
+        if (endpointName == null || methodName == null) {
+            return false;
         }
+        EndpointAccess access = getEndpointAccess(endpointName, methodName);
+        return access != null && access.kind() == AccessKind.ANONYMOUS;
     }
 
-    private Optional<EndpointData> getEndpointData(RoutingContext context) {
-        String endpointPrefix = endpointProperties.getNormalizedEndpointPrefix();
-        String requestPath = context.normalizedPath();
-        if (!requestPath.startsWith(endpointPrefix)) {
-            return Optional.empty();
+    /**
+     * Gets the access rule of the given endpoint method.
+     *
+     * @param endpointName the name of the endpoint, not case-sensitive
+     * @param methodName   the name of the method, not case-sensitive
+     * @return the access rule of the method, or {@literal null} if there is
+     * no such endpoint method
+     */
+    public EndpointAccess getEndpointAccess(String endpointName, String methodName) {
+        Map<String, EndpointAccess> methods =
+                accessTable().endpoints().get(endpointName.toLowerCase(Locale.ENGLISH));
+        if (methods == null) {
+            return null;
         }
+        return methods.get(methodName.toLowerCase(Locale.ENGLISH));
+    }
 
-        String endpointName = context.pathParam("endpoint");
-        String methodName = context.pathParam("method");
-        if (endpointName == null || methodName == null) {
-            return Optional.empty();
+    void onEndpointsRegistered(@Observes EndpointsRegisteredEvent event) {
+        registrations.incrementAndGet();
+    }
+
+    private AccessTable accessTable() {
+        AccessTable table = accessTable;
+        int current = registrations.get();
+        if (table == null || table.registrations() != current) {
+            // a table built from a registry that changes in the meantime
+            // keeps the old count and is rebuilt on the next check
+            table = buildAccessTable(current, registry.getEndpoints());
+            accessTable = table;
         }
-        EndpointRegistry.VaadinEndpointData data =
-                registry.getEndpoints().get(endpointName.toLowerCase(Locale.ENGLISH));
-        if (data == null) {
-            return Optional.empty();
+        return table;
+    }
+
+    private AccessTable buildAccessTable(
+            int registrations, Map<String, EndpointRegistry.VaadinEndpointData> endpoints) {
+        AccessAnnotationChecker annotationChecker = accessChecker.getAccessAnnotationChecker();
+        Map<String, Map<String, EndpointAccess>> table = new HashMap<>();
+        endpoints.forEach((endpointName, data) -> {
+            Class<?> invokedEndpointClass = SpringReplacements.classUtils_getUserClass(data.getEndpointObject());
+            Map<String, EndpointAccess> methods = new HashMap<>();
+            data.getMethods().values().forEach(method -> {
+                // Same security target selection as EndpointAccessChecker
+                AnnotatedElement securityTarget = method.getDeclaringClass().equals(invokedEndpointClass)
+                        ? annotationChecker.getSecurityTarget(method)
+                        : annotationChecker.getSecurityTarget(invokedEndpointClass);
+                methods.put(method.getName().toLowerCase(Locale.ENGLISH), EndpointAccess.of(securityTarget));
+            });
+            table.put(endpointName.toLowerCase(Locale.ENGLISH), Map.copyOf(methods));
+        });
+        return new AccessTable(registrations, Map.copyOf(table));
+    }
+
+    /**
+     * Kind of access granted to an endpoint method.
+     */
+    public enum AccessKind {
+        /** The method can be called without authentication. */
+        ANONYMOUS,
+        /** The method can be called by any authenticated user. */
+        AUTHENTICATED,
+        /** The method can be called by users having at least one of the roles. */
+        ROLES,
+        /** The method cannot be called. */
+        DENIED
+    }
+
+    /**
+     * Access rule of an endpoint method.
+     *
+     * @param kind  the kind of access granted
+     * @param roles the allowed roles, only relevant for {@link AccessKind#ROLES}
+     */
+    public record EndpointAccess(AccessKind kind, Set<String> roles) {
+
+        private static final EndpointAccess ANONYMOUS = new EndpointAccess(AccessKind.ANONYMOUS, Set.of());
+        private static final EndpointAccess AUTHENTICATED = new EndpointAccess(AccessKind.AUTHENTICATED, Set.of());
+        private static final EndpointAccess DENIED = new EndpointAccess(AccessKind.DENIED, Set.of());
+
+        // Annotations are evaluated in the same order as AccessAnnotationChecker
+        static EndpointAccess of(AnnotatedElement securityTarget) {
+            if (securityTarget.isAnnotationPresent(DenyAll.class)) {
+                return DENIED;
+            }
+            if (securityTarget.isAnnotationPresent(AnonymousAllowed.class)) {
+                return ANONYMOUS;
+            }
+            RolesAllowed rolesAllowed = securityTarget.getAnnotation(RolesAllowed.class);
+            if (rolesAllowed != null) {
+                return new EndpointAccess(AccessKind.ROLES, Set.copyOf(Arrays.asList(rolesAllowed.value())));
+            }
+            if (securityTarget.isAnnotationPresent(PermitAll.class)) {
+                return AUTHENTICATED;
+            }
+            return DENIED;
         }
-        Optional<Method> endpointMethod = data.getMethod(methodName);
-        return endpointMethod.map(method -> new EndpointData(method, data.getEndpointObject()));
     }
 
-    private record EndpointData(Method method, Object endpointObject) {}
+    private record AccessTable(int registrations, Map<String, Map<String, EndpointAccess>> endpoints) {}
 }
@@ -18,6 +18,7 @@ package com.github.mcollovati.quarkus.hilla.security;
 import jakarta.enterprise.event.Observes;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
@@ -50,6 +51,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.mcollovati.quarkus.hilla.QuarkusEndpointConfiguration;
+import com.github.mcollovati.quarkus.hilla.security.SecurityCheckTimings.Check;
 
 @Startup
 public class HillaSecurityPolicy implements HttpSecurityPolicy {
@@ -60,6 +62,8 @@ public class HillaSecurityPolicy implements HttpSecurityPolicy {
     private final NavigationAccessControl accessControl;
     private final QuarkusEndpointConfiguration endpointConfiguration;
     private final EndpointUtil endpointUtil;
+    // null unless vaadin.endpoint.security-check-timings is enabled
+    private final SecurityCheckTimings timings;
 
     private VaadinService vaadinService;
     private RouteUtil routeUtil;
@@ -73,6 +77,7 @@ public class HillaSecurityPolicy implements HttpSecurityPolicy {
         this.accessControl = accessControl;
         this.endpointConfiguration = endpointConfiguration;
         this.endpointUtil = endpointUtil;
+        this.timings = endpointConfiguration.isSecurityCheckTimings() ? new SecurityCheckTimings() : null;
         buildPathMatcher(null);
     }
 
@@ -97,20 +102,53 @@ public class HillaSecurityPolicy implements HttpSecurityPolicy {
     @Override
     public Uni<CheckResult> checkPermission(
             RoutingContext request, Uni<SecurityIdentity> identity, AuthorizationRequestContext requestContext) {
-        Boolean permittedPath = permitAllMatcher.match(request.request().path()).getValue();
-        if ((permittedPath != null && permittedPath)
-                || isFrameworkInternalRequest(request)
-                || isAnonymousEndpoint(request)
-                || isAnonymousRoute(tryCreateNavigationContext(request), request.normalizedPath())
-                || isCustomWebIcon(request)) {
+        if (timings != null ? isPermittedTimed(request) : isPermitted(request)) {
             return CheckResult.permit();
         }
         return identity.flatMap(secIdentity -> {
-            if (isAllowedHillaView(request, secIdentity)) return CheckResult.permit();
+            boolean allowedView = timings != null
+                    ? timings.time(Check.HILLA_VIEW, () -> isAllowedHillaView(request, secIdentity))
+                    : isAllowedHillaView(request, secIdentity);
+            if (allowedView) return CheckResult.permit();
             return authenticatedHttpSecurityPolicy.checkPermission(request, identity, requestContext);
         });
     }
 
+    /**
+     * Gets the invocation counts and elapsed time of the checks performed
+     * by this policy, if {@code vaadin.endpoint.security-check-timings} is
+     * enabled.
+     *
+     * @return the security check timings, or an empty optional if timings
+     * are not collected
+     */
+    public Optional<SecurityCheckTimings> getCheckTimings() {
+        return Optional.ofNullable(timings);
+    }
+
+    private boolean isPermitted(RoutingContext request) {
+        return isPermittedPath(request)
+                || isFrameworkInternalRequest(request)
+                || isAnonymousEndpoint(request)
+                || isAnonymousRoute(tryCreateNavigationContext(request), request.normalizedPath())
+                || isCustomWebIcon(request);
+    }
+
+    private boolean isPermittedTimed(RoutingContext request) {
+        return timings.time(Check.PERMIT_ALL_PATH, () -> isPermittedPath(request))
+                || timings.time(Check.FRAMEWORK_INTERNAL_REQUEST, () -> isFrameworkInternalRequest(request))
+                || timings.time(Check.ANONYMOUS_ENDPOINT, () -> isAnonymousEndpoint(request))
+                || timings.time(
+                        Check.ANONYMOUS_ROUTE,
+                        () -> isAnonymousRoute(tryCreateNavigationContext(request), request.normalizedPath()))
+                || timings.time(Check.CUSTOM_WEB_ICON, () -> isCustomWebIcon(request));
+    }
+
+    private boolean isPermittedPath(RoutingContext request) {
+        Boolean permittedPath = permitAllMatcher.match(request.request().path()).getValue();
+        return permittedPath != null && permittedPath;
+    }
+
     private boolean isAllowedHillaView(RoutingContext request, SecurityIdentity secIdentity) {
         return routeUtil.isRouteAllowed(request, secIdentity);
     }
@@ -251,7 +289,9 @@ public class HillaSecurityPolicy implements HttpSecurityPolicy {
 
     void onVaadinServiceInit(@Observes ServiceInitEvent serviceInitEvent) {
         vaadinService = serviceInitEvent.getSource();
-        routeUtil = new RouteUtil(vaadinService);
+        RouteUtil serviceRouteUtil = new RouteUtil(vaadinService);
+        vaadinService.addServiceDestroyListener(event -> serviceRouteUtil.close());
+        routeUtil = serviceRouteUtil;
         webIconsRequestMatcher = new WebIconsRequestMatcher(vaadinService, getUrlMapping());
     }
 }
@@ -15,12 +15,21 @@
  */
 package com.github.mcollovati.quarkus.hilla.security;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 
 import com.vaadin.flow.internal.CurrentInstance;
@@ -31,11 +40,21 @@ import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.quarkus.vertx.http.runtime.security.ImmutablePathMatcher;
 import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class RouteUtil {
 
-    private Map<String, AvailableViewInfo> registeredRoutes = null;
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteUtil.class);
+
+    // Upper bound of distinct access profiles (authenticated flag and relevant
+    // roles) for which a filtered route matcher is kept in memory.
+    static final int MAX_CACHED_ACCESS_PROFILES = 256;
+
+    private volatile RouteTable routeTable = null;
     private final VaadinService vaadinService;
+    // development mode only, guarded by this
+    private ViewsFileWatcher viewsFileWatcher;
 
     public RouteUtil(VaadinService vaadinService) {
         this.vaadinService = vaadinService;
@@ -55,39 +74,88 @@ public class RouteUtil {
     }
 
     private boolean isRouteAllowedSafe(RoutingContext context, SecurityIdentity identity) {
-        if (registeredRoutes == null) {
-            collectClientRoutes();
-        }
         var viewConfig = getRouteData(context.normalizedPath(), identity);
         return viewConfig.isPresent();
     }
 
-    private void collectClientRoutes() {
-        ApplicationConfiguration config = ApplicationConfiguration.get(vaadinService.getContext());
-        setRoutes(MenuRegistry.collectClientMenuItems(false, config, null));
+    /**
+     * Stops watching the views file for changes, in development mode.
+     */
+    public synchronized void close() {
+        if (viewsFileWatcher != null) {
+            try {
+                viewsFileWatcher.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            viewsFileWatcher = null;
+        }
+    }
+
+    private RouteTable getRouteTable() {
+        RouteTable table = routeTable;
+        if (table != null) {
+            return table;
+        }
+        synchronized (this) {
+            table = routeTable;
+            if (table == null) {
+                ApplicationConfiguration config = ApplicationConfiguration.get(vaadinService.getContext());
+                if (!config.isProductionMode()) {
+                    // start watching before collecting, so that changes made
+                    // while collecting routes are not missed
+                    watchViewsFile(config);
+                }
+                Map<String, AvailableViewInfo> routes = MenuRegistry.collectClientMenuItems(false, config, null);
+                table = new RouteTable(routes == null ? Map.of() : new HashMap<>(routes));
+                routeTable = table;
+            }
+            return table;
+        }
     }
 
-    private void setRoutes(final Map<String, AvailableViewInfo> registeredRoutes) {
-        if (registeredRoutes == null) {
-            this.registeredRoutes = null;
-        } else {
-            this.registeredRoutes = new HashMap<>(registeredRoutes);
+    private void watchViewsFile(ApplicationConfiguration config) {
+        if (viewsFileWatcher != null) {
+            return;
+        }
+        Path viewsFile = viewsFile(config);
+        if (viewsFile == null) {
+            return;
+        }
+        try {
+            viewsFileWatcher = new ViewsFileWatcher(viewsFile, () -> routeTable = null);
+        } catch (IOException ex) {
+            LOGGER.warn("Cannot watch {}, client route changes will not be detected", viewsFile, ex);
         }
     }
 
+    private static Path viewsFile(ApplicationConfiguration config) {
+        URL viewsJson = MenuRegistry.getViewsJsonAsResource(config);
+        if (viewsJson != null && "file".equals(viewsJson.getProtocol())) {
+            try {
+                return Path.of(viewsJson.toURI());
+            } catch (URISyntaxException ex) {
+                return null;
+            }
+        }
+        // not generated yet
+        Path generated = config.getFrontendFolder().toPath().resolve("generated");
+        return Files.isDirectory(generated) ? generated.resolve("file-routes.json") : null;
+    }
+
     private Optional<AvailableViewInfo> getRouteData(String path, SecurityIdentity identity) {
-        Map<String, AvailableViewInfo> availableRoutes = new HashMap<>(registeredRoutes);
-        filterClientViews(availableRoutes, identity);
-        return Optional.ofNullable(getRouteByPath(availableRoutes, path));
+        return Optional.ofNullable(getRouteTable().matcherFor(identity).match(path).getValue());
     }
 
-    private static void filterClientViews(Map<String, AvailableViewInfo> configurations, SecurityIdentity identity) {
-        final boolean isUserAuthenticated = !identity.isAnonymous();
+    private static void filterClientViews(
+            Map<String, AvailableViewInfo> configurations,
+            boolean isUserAuthenticated,
+            Predicate<? super String> roleAuthentication) {
         Set<String> clientEntries = new HashSet<>(configurations.keySet());
         // configurations::containsKey is used to avoid ConcurrentModificationException
         clientEntries.stream().filter(configurations::containsKey).forEach(path -> {
             final AvailableViewInfo viewInfo = configurations.get(path);
-            final boolean routeValid = validateViewAccessible(viewInfo, isUserAuthenticated, identity::hasRole);
+            final boolean routeValid = validateViewAccessible(viewInfo, isUserAuthenticated, roleAuthentication);
             if (!routeValid) {
                 removePathRecursive(configurations, viewInfo, path);
             }
@@ -113,11 +181,69 @@ public class RouteUtil {
         }
     }
 
-    private AvailableViewInfo getRouteByPath(Map<String, AvailableViewInfo> availableRoutes, String path) {
+    private static ImmutablePathMatcher<AvailableViewInfo> buildMatcher(Map<String, AvailableViewInfo> routes) {
         final var matcherBuilder = ImmutablePathMatcher.<AvailableViewInfo>builder();
-        availableRoutes.forEach((route, info) -> {
+        routes.forEach((route, info) -> {
             matcherBuilder.addPath(PathUtil.ensureSlashBegin(route), info);
         });
-        return matcherBuilder.build().match(path).getValue();
+        return matcherBuilder.build();
     }
+
+    /**
+     * Client routes collected at a given time, together with the route
+     * matchers already built for the access profiles seen so far.
+     * <p>
+     * Access to a route only depends on the authentication state and on the
+     * roles referenced by route definitions, so identities sharing these
+     * traits share the same filtered matcher.
+     */
+    static final class RouteTable {
+
+        private final Map<String, AvailableViewInfo> routes;
+        private final Set<String> referencedRoles;
+        private final Map<AccessProfile, ImmutablePathMatcher<AvailableViewInfo>> matchers;
+
+        RouteTable(Map<String, AvailableViewInfo> routes) {
+            this.routes = routes;
+            this.referencedRoles = new TreeSet<>();
+            routes.values().forEach(this::collectRoles);
+            this.matchers = Collections.synchronizedMap(
+                    new LinkedHashMap<>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(
+                                Map.Entry<AccessProfile, ImmutablePathMatcher<AvailableViewInfo>> eldest) {
+                            return size() > MAX_CACHED_ACCESS_PROFILES;
+                        }
+                    });
+        }
+
+        private void collectRoles(AvailableViewInfo viewInfo) {
+            if (viewInfo.rolesAllowed() != null) {
+                referencedRoles.addAll(Arrays.asList(viewInfo.rolesAllowed()));
+            }
+            if (viewInfo.children() != null) {
+                viewInfo.children().forEach(this::collectRoles);
+            }
+        }
+
+        ImmutablePathMatcher<AvailableViewInfo> matcherFor(SecurityIdentity identity) {
+            Set<String> grantedRoles = new TreeSet<>();
+            for (String role : referencedRoles) {
+                if (identity.hasRole(role)) {
+                    grantedRoles.add(role);
+                }
+            }
+            AccessProfile profile = new AccessProfile(!identity.isAnonymous(), grantedRoles);
+            ImmutablePathMatcher<AvailableViewInfo> matcher = matchers.get(profile);
+            if (matcher == null) {
+                Map<String, AvailableViewInfo> availableRoutes = new HashMap<>(routes);
+                filterClientViews(availableRoutes, profile.authenticated(), grantedRoles::contains);
+                matcher = buildMatcher(availableRoutes);
+                matchers.put(profile, matcher);
+            }
+            return matcher;
+        }
+    }
+
+    private record AccessProfile(boolean authenticated, Set<String> roles) {}
 }
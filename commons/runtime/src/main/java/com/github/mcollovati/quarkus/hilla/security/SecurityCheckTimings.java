@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Collects invocation counts and elapsed time of the checks performed by
+ * {@link HillaSecurityPolicy}.
+ */
+public final class SecurityCheckTimings {
+
+    /**
+     * Checks performed by {@link HillaSecurityPolicy} on incoming requests.
+     */
+    public enum Check {
+        PERMIT_ALL_PATH,
+        FRAMEWORK_INTERNAL_REQUEST,
+        ANONYMOUS_ENDPOINT,
+        ANONYMOUS_ROUTE,
+        CUSTOM_WEB_ICON,
+        HILLA_VIEW
+    }
+
+    private final Map<Check, Counter> counters = new EnumMap<>(Check.class);
+
+    SecurityCheckTimings() {
+        for (Check check : Check.values()) {
+            counters.put(check, new Counter());
+        }
+    }
+
+    boolean time(Check check, BooleanSupplier action) {
+        long start = System.nanoTime();
+        try {
+            return action.getAsBoolean();
+        } finally {
+            Counter counter = counters.get(check);
+            counter.invocations.increment();
+            counter.nanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets how many times the given check has been executed.
+     *
+     * @param check the security check
+     * @return the number of executions
+     */
+    public long getInvocations(Check check) {
+        return counters.get(check).invocations.sum();
+    }
+
+    /**
+     * Gets the total time spent executing the given check.
+     *
+     * @param check the security check
+     * @return the total elapsed time, in nanoseconds
+     */
+    public long getTotalNanos(Check check) {
+        return counters.get(check).nanos.sum();
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        counters.values().forEach(counter -> {
+            counter.invocations.reset();
+            counter.nanos.reset();
+        });
+    }
+
+    private static final class Counter {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
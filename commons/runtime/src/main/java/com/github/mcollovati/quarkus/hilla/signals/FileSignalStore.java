@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.signals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * A {@link SignalStore} keeping every signal in an append-only file.
+ * <p>
+ * Each file holds the commands of a signal as length-prefixed UTF-8 records.
+ * Files are read through a memory mapping, so that loading a large signal
+ * does not copy the whole file to the heap before parsing it. Compaction
+ * writes the snapshot to a new file that atomically replaces the log.
+ * <p>
+ * Every write is forced to the storage device before it returns, and
+ * before a compacted file replaces the log, so that accepted changes survive
+ * an operating system crash. A record left incomplete by a crash while it was
+ * being written is dropped when the file is loaded.
+ */
+public class FileSignalStore implements SignalStore {
+
+    private static final String EXTENSION = ".log";
+
+    private final Path directory;
+
+    /**
+     * Creates a new store.
+     *
+     * @param directory the directory containing the signal files, created if
+     *                  it does not exist
+     */
+    public FileSignalStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create signal store directory " + directory, ex);
+        }
+    }
+
+    @Override
+    public List<String> load(String name) {
+        List<String> commands = new ArrayList<>();
+        Path file = fileOf(name);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int valid = 0;
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    break;
+                }
+                commands.add(StandardCharsets.UTF_8
+                        .decode(buffer.slice(buffer.position(), length))
+                        .toString());
+                buffer.position(buffer.position() + length);
+                valid = buffer.position();
+            }
+            if (valid < size) {
+                // drop the incomplete record, so that new commands are not
+                // appended after it
+                channel.truncate(valid);
+            }
+        } catch (NoSuchFileException ex) {
+            // nothing stored yet
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot load signal '" + name + "'", ex);
+        }
+        return commands;
+    }
+
+    @Override
+    public void append(String name, String command) {
+        write(fileOf(name), List.of(command), StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void append(String name, List<String> commands) {
+        write(fileOf(name), commands, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void replace(String name, String snapshot) {
+        Path file = fileOf(name);
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        write(compacted, List.of(snapshot), StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot compact signal '" + name + "'", ex);
+        }
+    }
+
+    private void write(Path file, List<String> commands, StandardOpenOption mode) {
+        List<byte[]> encoded =
+                commands.stream().map(command -> command.getBytes(StandardCharsets.UTF_8)).toList();
+        ByteBuffer records = ByteBuffer.allocate(
+                encoded.stream().mapToInt(bytes -> Integer.BYTES + bytes.length).sum());
+        encoded.forEach(bytes -> records.putInt(bytes.length).put(bytes));
+        records.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write " + file, ex);
+        }
+    }
+
+    private Path fileOf(String name) {
+        // encoded, so that any signal name is a valid and safe file name
+        return directory.resolve(
+                Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8))
+                        + EXTENSION);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.signals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+
+/**
+ * A {@link SignalStore} keeping signals in a database table.
+ * <p>
+ * The table must be created by the application, for example with a Flyway
+ * migration, and have the following columns:
+ *
+ * <pre>{@code
+ * create table hilla_signal_log (
+ *     signal_name varchar(255) not null,
+ *     seq bigint not null,
+ *     command text not null,
+ *     primary key (signal_name, seq)
+ * )
+ * }</pre>
+ * <p>
+ * Compaction inserts the snapshot before deleting the commands it replaces,
+ * so that the log stays consistent without a transaction: if the deletion
+ * fails, the snapshot still overrides the older commands when the signal is
+ * loaded.
+ * <p>
+ * The last sequence number of every loaded signal is cached, and dropped when
+ * the signal is released from memory.
+ */
+public class JdbcSignalStore implements SignalStore {
+
+    /**
+     * The default table name.
+     */
+    public static final String DEFAULT_TABLE = "hilla_signal_log";
+
+    // an unquoted identifier, optionally qualified by a schema
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private final DataSource dataSource;
+    private final String selectSql;
+    private final String maxSeqSql;
+    private final String insertSql;
+    private final String deleteSql;
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new store using the {@value #DEFAULT_TABLE} table.
+     *
+     * @param dataSource the data source
+     */
+    public JdbcSignalStore(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE);
+    }
+
+    /**
+     * Creates a new store.
+     *
+     * @param dataSource the data source
+     * @param table      the name of the table, optionally qualified by a
+     *                   schema name
+     * @throws IllegalArgumentException if the table name is not a valid
+     *                                  unquoted SQL identifier
+     */
+    public JdbcSignalStore(DataSource dataSource, String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid signal table name: " + table);
+        }
+        this.dataSource = dataSource;
+        this.selectSql = "select seq, command from " + table + " where signal_name = ? order by seq";
+        this.maxSeqSql = "select max(seq) from " + table + " where signal_name = ?";
+        this.insertSql = "insert into " + table + " (signal_name, seq, command) values (?, ?, ?)";
+        this.deleteSql = "delete from " + table + " where signal_name = ? and seq < ?";
+    }
+
+    @Override
+    public List<String> load(String name) {
+        List<String> commands = new ArrayList<>();
+        long seq = 0;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(selectSql)) {
+            statement.setString(1, name);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    seq = rows.getLong(1);
+                    commands.add(rows.getString(2));
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot load signal '" + name + "'", ex);
+        }
+        sequences.put(name, new AtomicLong(seq));
+        return commands;
+    }
+
+    @Override
+    public void append(String name, String command) {
+        insert(name, List.of(command));
+    }
+
+    @Override
+    public void append(String name, List<String> commands) {
+        insert(name, commands);
+    }
+
+    @Override
+    public void replace(String name, String snapshot) {
+        long seq = insert(name, List.of(snapshot));
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(deleteSql)) {
+            statement.setString(1, name);
+            statement.setLong(2, seq);
+            statement.executeUpdate();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot compact signal '" + name + "'", ex);
+        }
+    }
+
+    @Override
+    public void release(String name) {
+        sequences.remove(name);
+    }
+
+    private long insert(String name, List<String> commands) {
+        try (Connection connection = dataSource.getConnection()) {
+            AtomicLong sequence = sequences.computeIfAbsent(name, key -> new AtomicLong(maxSeq(connection, key)));
+            long seq = sequence.get();
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                for (String command : commands) {
+                    statement.setString(1, name);
+                    statement.setLong(2, ++seq);
+                    statement.setString(3, command);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            sequence.set(seq);
+            return seq;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot store a command of signal '" + name + "'", ex);
+        }
+    }
+
+    private long maxSeq(Connection connection, String name) {
+        try (PreparedStatement statement = connection.prepareStatement(maxSeqSql)) {
+            statement.setString(1, name);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getLong(1) : 0;
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot read the log of signal '" + name + "'", ex);
+        }
+    }
+}
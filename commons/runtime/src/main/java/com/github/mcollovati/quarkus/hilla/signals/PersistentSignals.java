@@ -0,0 +1,466 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.signals;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.vaadin.flow.signals.Id;
+import com.vaadin.flow.signals.SignalCommand;
+import com.vaadin.flow.signals.shared.AbstractSharedSignal;
+import com.vaadin.flow.signals.shared.SharedListSignal;
+import com.vaadin.flow.signals.shared.SharedMapSignal;
+import com.vaadin.flow.signals.shared.SharedNodeSignal;
+import com.vaadin.flow.signals.shared.SharedNumberSignal;
+import com.vaadin.flow.signals.shared.SharedValueSignal;
+import com.vaadin.flow.signals.shared.SignalUtils;
+import com.vaadin.flow.signals.shared.impl.CommandResult;
+import com.vaadin.flow.signals.shared.impl.SignalTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Shared signals whose state is kept in a {@link SignalStore}.
+ * <p>
+ * Signals are identified by name and loaded from the store the first time
+ * they are requested; every change accepted by a signal is then appended to
+ * its log in the store. Changes are written in the background, in the order
+ * they were accepted, so that slow storage does not delay the signal and the
+ * changes accumulated while a write is in progress are stored together.
+ * <p>
+ * If the store fails to write a change, the signal is dropped from memory and
+ * loaded again from the store on the next request, so that its state matches
+ * the stored one; the failure is logged and counted by
+ * {@link #getStoreFailureCount()}. Endpoints should look signals up every time they
+ * need them instead of keeping them in fields:
+ *
+ * <pre>{@code
+ * @BrowserCallable
+ * @AnonymousAllowed
+ * public class ChatService {
+ *
+ *     @Inject
+ *     PersistentSignals signals;
+ *
+ *     public SharedListSignal<Message> messages() {
+ *         return signals.list("chat", Message.class);
+ *     }
+ * }
+ * }</pre>
+ * <p>
+ * A signal not requested for longer than the idle timeout is only weakly
+ * referenced: it stays in memory as long as clients are subscribed to it or
+ * the application references it, and is otherwise released by the garbage
+ * collector and loaded again from the store on the next request. The number
+ * of signals is therefore not bound by the heap size, only the signals in use
+ * are kept in memory.
+ */
+public class PersistentSignals {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentSignals.class);
+
+    private final SignalStore store;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int compactAfter;
+    private final long idleTimeoutNanos;
+    private final Map<String, LoadedSignal> signals = new ConcurrentHashMap<>();
+    private final ReferenceQueue<AbstractSharedSignal<?>> released = new ReferenceQueue<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder unloads = new LongAdder();
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private final LongAdder storeFailures = new LongAdder();
+    private final List<Runnable> closeActions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param store        the store keeping the state of the signals
+     * @param objectMapper the object mapper used to convert signal commands
+     *                     to and from JSON
+     * @param compactAfter the number of stored commands after which the log of
+     *                     a signal is replaced by a snapshot, or {@literal 0}
+     *                     to never compact logs
+     * @param idleTimeout  the time after which a signal that has not been
+     *                     requested can be released from memory
+     * @param executor     the executor writing changes to the store
+     */
+    public PersistentSignals(
+            SignalStore store, ObjectMapper objectMapper, int compactAfter, Duration idleTimeout, Executor executor) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.compactAfter = compactAfter;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Gets a persistent list signal.
+     *
+     * @param name        the signal name
+     * @param elementType the type of the list elements
+     * @param <T>         the type of the list elements
+     * @return the list signal
+     */
+    public <T> SharedListSignal<T> list(String name, Class<T> elementType) {
+        return signal(name, SharedListSignal.class, () -> new SharedListSignal<>(elementType));
+    }
+
+    /**
+     * Gets a persistent value signal.
+     *
+     * @param name      the signal name
+     * @param valueType the type of the value
+     * @param <T>       the type of the value
+     * @return the value signal
+     */
+    public <T> SharedValueSignal<T> value(String name, Class<T> valueType) {
+        return signal(name, SharedValueSignal.class, () -> new SharedValueSignal<>(valueType));
+    }
+
+    /**
+     * Gets a persistent map signal.
+     *
+     * @param name      the signal name
+     * @param valueType the type of the map values
+     * @param <T>       the type of the map values
+     * @return the map signal
+     */
+    public <T> SharedMapSignal<T> map(String name, Class<T> valueType) {
+        return signal(name, SharedMapSignal.class, () -> new SharedMapSignal<>(valueType));
+    }
+
+    /**
+     * Gets a persistent number signal.
+     *
+     * @param name the signal name
+     * @return the number signal
+     */
+    public SharedNumberSignal number(String name) {
+        return signal(name, SharedNumberSignal.class, SharedNumberSignal::new);
+    }
+
+    /**
+     * Gets a persistent node signal.
+     *
+     * @param name the signal name
+     * @return the node signal
+     */
+    public SharedNodeSignal node(String name) {
+        return signal(name, SharedNodeSignal.class, SharedNodeSignal::new);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <S extends AbstractSharedSignal> S signal(String name, Class<? super S> kind, Supplier<S> factory) {
+        purge();
+        AbstractSharedSignal<?>[] result = new AbstractSharedSignal<?>[1];
+        signals.compute(name, (key, loaded) -> {
+            AbstractSharedSignal<?> signal = loaded != null ? loaded.access() : null;
+            if (signal == null) {
+                signal = factory.get();
+                loaded = load(key, signal);
+            }
+            result[0] = signal;
+            return loaded;
+        });
+        if (!kind.isInstance(result[0])) {
+            throw new IllegalStateException("Signal '" + name + "' is a "
+                    + result[0].getClass().getSimpleName() + ", not a " + kind.getSimpleName());
+        }
+        return (S) result[0];
+    }
+
+    private LoadedSignal load(String name, AbstractSharedSignal<?> signal) {
+        SignalTree tree = SignalUtils.treeOf(signal);
+        List<String> commands = store.load(name);
+        for (String command : commands) {
+            tree.commitSingleCommand(objectMapper.readValue(command, SignalCommand.class));
+        }
+        LoadedSignal loaded = new LoadedSignal(name, signal, released, commands.size());
+        tree.subscribeToProcessed((command, result) -> loaded.persist(tree, command, result));
+        loads.increment();
+        return loaded;
+    }
+
+    /**
+     * Stops keeping in memory the signals that have not been requested within
+     * the idle timeout.
+     * <p>
+     * Signals still referenced, for example by subscribed clients, are not
+     * released and are returned as is when requested again.
+     */
+    public void evictIdle() {
+        purge();
+        long now = System.nanoTime();
+        signals.values().forEach(loaded -> loaded.evictIfIdle(now));
+    }
+
+    /**
+     * Registers an action to run when this instance is closed, for example to
+     * cancel the timer evicting idle signals.
+     *
+     * @param action the action to run on close
+     */
+    public void onClose(Runnable action) {
+        closeActions.add(action);
+    }
+
+    /**
+     * Waits for the pending changes to be written to the store, then runs the
+     * actions registered with {@link #onClose(Runnable)}.
+     * <p>
+     * Signals already loaded keep working, but idle ones are no longer
+     * evicted.
+     */
+    public void close() {
+        signals.values().forEach(LoadedSignal::awaitWrites);
+        closeActions.forEach(Runnable::run);
+        closeActions.clear();
+    }
+
+    private void purge() {
+        Reference<?> reference;
+        while ((reference = released.poll()) != null) {
+            LoadedSignal loaded = (LoadedSignal) reference;
+            // the signal must not be loaded again before its log is complete
+            loaded.awaitWrites();
+            if (signals.remove(loaded.name, loaded)) {
+                store.release(loaded.name);
+                unloads.increment();
+            }
+        }
+    }
+
+    /**
+     * Gets how many signals are currently loaded, including the idle ones not
+     * yet released by the garbage collector.
+     *
+     * @return the number of loaded signals
+     */
+    public int getLoadedCount() {
+        purge();
+        return signals.size();
+    }
+
+    /**
+     * Gets how many times a signal has been loaded from the store.
+     *
+     * @return the number of loads
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Gets how many idle signals have been released from memory.
+     *
+     * @return the number of released signals
+     */
+    public long getUnloadCount() {
+        purge();
+        return unloads.sum();
+    }
+
+    /**
+     * Gets how many commands have been appended to the store.
+     *
+     * @return the number of stored commands
+     */
+    public long getAppendCount() {
+        return appends.sum();
+    }
+
+    /**
+     * Gets how many times the log of a signal has been replaced by a snapshot.
+     *
+     * @return the number of compactions
+     */
+    public long getCompactionCount() {
+        return compactions.sum();
+    }
+
+    /**
+     * Gets how many times the store failed to write the changes of a signal.
+     *
+     * @return the number of store failures
+     */
+    public long getStoreFailureCount() {
+        return storeFailures.sum();
+    }
+
+    private record Write(String json, boolean snapshot) {}
+
+    private final class LoadedSignal extends WeakReference<AbstractSharedSignal<?>> {
+
+        private final String name;
+        private volatile AbstractSharedSignal<?> strong;
+        private volatile long lastAccess = System.nanoTime();
+        // only accessed while holding the signal tree lock
+        private int stored;
+        // guarded by writes
+        private final List<Write> writes = new ArrayList<>();
+        private boolean writing;
+        private boolean failed;
+
+        private LoadedSignal(
+                String name,
+                AbstractSharedSignal<?> signal,
+                ReferenceQueue<AbstractSharedSignal<?>> queue,
+                int stored) {
+            super(signal, queue);
+            this.name = name;
+            this.strong = signal;
+            this.stored = stored;
+        }
+
+        private AbstractSharedSignal<?> access() {
+            AbstractSharedSignal<?> signal = get();
+            if (signal != null) {
+                strong = signal;
+                lastAccess = System.nanoTime();
+            }
+            return signal;
+        }
+
+        private void evictIfIdle(long now) {
+            if (strong != null && now - lastAccess >= idleTimeoutNanos) {
+                strong = null;
+            }
+        }
+
+        private void persist(SignalTree tree, SignalCommand command, CommandResult result) {
+            if (!result.accepted()) {
+                return;
+            }
+            if (compactAfter > 0 && stored >= compactAfter) {
+                // the confirmed state already includes the command
+                enqueue(new Write(
+                        objectMapper.writeValueAsString(
+                                new SignalCommand.SnapshotCommand(Id.random(), tree.confirmed().nodes())),
+                        true));
+                stored = 1;
+            } else {
+                enqueue(new Write(objectMapper.writeValueAsString(command), false));
+                stored++;
+            }
+        }
+
+        private void enqueue(Write write) {
+            synchronized (writes) {
+                if (failed) {
+                    return;
+                }
+                writes.add(write);
+                if (writing) {
+                    return;
+                }
+                writing = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // shutting down, the change is still stored
+                drain();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<Write> batch;
+                synchronized (writes) {
+                    if (writes.isEmpty() || failed) {
+                        writes.clear();
+                        writing = false;
+                        writes.notifyAll();
+                        return;
+                    }
+                    batch = new ArrayList<>(writes);
+                    writes.clear();
+                }
+                try {
+                    write(batch);
+                } catch (RuntimeException ex) {
+                    fail(ex);
+                }
+            }
+        }
+
+        private void write(List<Write> batch) {
+            int snapshot = -1;
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).snapshot()) {
+                    snapshot = i;
+                }
+            }
+            if (snapshot >= 0) {
+                // the last snapshot already includes every change before it
+                store.replace(name, batch.get(snapshot).json());
+                compactions.increment();
+            }
+            List<String> commands = batch.subList(snapshot + 1, batch.size()).stream()
+                    .map(Write::json)
+                    .toList();
+            if (!commands.isEmpty()) {
+                store.append(name, commands);
+                appends.add(commands.size());
+            }
+        }
+
+        private void fail(RuntimeException ex) {
+            synchronized (writes) {
+                failed = true;
+            }
+            storeFailures.increment();
+            LOGGER.error(
+                    "Cannot store the changes of signal '{}', it will be loaded again from the store when requested",
+                    name,
+                    ex);
+            strong = null;
+            if (signals.remove(name, this)) {
+                store.release(name);
+            }
+        }
+
+        private void awaitWrites() {
+            synchronized (writes) {
+                boolean interrupted = false;
+                while (writing) {
+                    try {
+                        writes.wait();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
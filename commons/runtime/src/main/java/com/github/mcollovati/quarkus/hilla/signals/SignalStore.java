@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.signals;
+
+import java.util.List;
+
+/**
+ * Storage for the state of persistent signals.
+ * <p>
+ * The state of a signal is stored as a log of the commands applied to it, in
+ * the order they were applied. Every command is the JSON representation of a
+ * {@link com.vaadin.flow.signals.SignalCommand}. The log is compacted from
+ * time to time by replacing it with a single snapshot command holding the
+ * whole state of the signal, so that it does not grow forever.
+ * <p>
+ * Implementations must be thread safe. Calls for the same signal are never
+ * made concurrently.
+ *
+ * @see PersistentSignals
+ * @see FileSignalStore
+ * @see JdbcSignalStore
+ */
+public interface SignalStore {
+
+    /**
+     * Loads the commands stored for a signal.
+     *
+     * @param name the signal name
+     * @return the stored commands in the order they were appended, or an empty
+     * list if nothing is stored for the signal
+     */
+    List<String> load(String name);
+
+    /**
+     * Appends a command to the log of a signal.
+     *
+     * @param name    the signal name
+     * @param command the JSON representation of the command
+     */
+    void append(String name, String command);
+
+    /**
+     * Appends several commands to the log of a signal, in order.
+     * <p>
+     * The default implementation appends the commands one by one;
+     * implementations should override it to write them at once.
+     *
+     * @param name     the signal name
+     * @param commands the JSON representations of the commands
+     */
+    default void append(String name, List<String> commands) {
+        commands.forEach(command -> append(name, command));
+    }
+
+    /**
+     * Replaces the whole log of a signal with a snapshot of its state.
+     *
+     * @param name     the signal name
+     * @param snapshot the JSON representation of the snapshot command
+     */
+    void replace(String name, String snapshot);
+
+    /**
+     * Notifies that a signal has been released from memory, so that any state
+     * kept for it can be dropped. The next call for the signal, if any, is
+     * {@link #load(String)}.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param name the signal name
+     */
+    default void release(String name) {}
+}
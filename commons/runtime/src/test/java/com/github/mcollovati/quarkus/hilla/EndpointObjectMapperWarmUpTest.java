@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EndpointObjectMapperWarmUpTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void warmUp_genericServiceTypesResolved() {
+        // List<Person>, Person
+        assertEquals(2, EndpointObjectMapperWarmUp.warmUp(objectMapper, List.of(PersonService.class)));
+    }
+
+    @Test
+    void warmUp_asyncResultsResolvedForItemType() {
+        // Address, Person, Tag
+        assertEquals(3, EndpointObjectMapperWarmUp.warmUp(objectMapper, List.of(AsyncService.class)));
+    }
+
+    @Test
+    void warmUp_primitiveAndVoidTypesSkipped() {
+        assertEquals(0, EndpointObjectMapperWarmUp.warmUp(objectMapper, List.of(CounterService.class)));
+    }
+
+    public static class Person {
+        public String name;
+    }
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class Tag {
+        public String label;
+    }
+
+    public static class CrudService<T> {
+        public List<T> list(int page) {
+            return List.of();
+        }
+
+        public void save(T entity) {}
+    }
+
+    public static class PersonService extends CrudService<Person> {}
+
+    public static class AsyncService {
+        public CompletableFuture<Address> address() {
+            return null;
+        }
+
+        public Flux<Person> people() {
+            return null;
+        }
+
+        public Uni<Tag> tag() {
+            return null;
+        }
+    }
+
+    public static class CounterService {
+        public int count() {
+            return 0;
+        }
+
+        public void reset(long value) {}
+    }
+}
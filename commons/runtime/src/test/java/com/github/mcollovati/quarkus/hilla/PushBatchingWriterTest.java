@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.atmosphere.client.TrackMessageSizeInterceptor;
+import org.atmosphere.cpr.AsyncIOWriter;
+import org.atmosphere.cpr.AsyncIOWriterAdapter;
+import org.atmosphere.cpr.AtmosphereRequest;
+import org.atmosphere.cpr.AtmosphereResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PushBatchingWriterTest {
+
+    private static final String CLOSED = "<closed>";
+
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+    private final List<String> frames = new ArrayList<>();
+    private final List<Boolean> skippedTracking = new ArrayList<>();
+    private final Map<String, Object> requestAttributes = new HashMap<>();
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder frameCount = new LongAdder();
+    private AtmosphereResponse response;
+    private PushBatchingWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        AtmosphereRequest request = mock(AtmosphereRequest.class);
+        doAnswer(invocation -> requestAttributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request)
+                .setAttribute(anyString(), any());
+        doAnswer(invocation -> requestAttributes.remove(invocation.<String>getArgument(0)))
+                .when(request)
+                .removeAttribute(anyString());
+        response = mock(AtmosphereResponse.class);
+        when(response.request()).thenReturn(request);
+
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(invocation -> {
+                    scheduledTasks.add(invocation.getArgument(0));
+                    return mock(ScheduledFuture.class);
+                });
+
+        AsyncIOWriter delegate = new AsyncIOWriterAdapter() {
+            @Override
+            public AsyncIOWriter write(AtmosphereResponse r, String data) {
+                frames.add(data);
+                skippedTracking.add(requestAttributes.containsKey(TrackMessageSizeInterceptor.SKIP_INTERCEPTOR));
+                return this;
+            }
+
+            @Override
+            public void close(AtmosphereResponse r) {
+                frames.add(CLOSED);
+            }
+        };
+        writer = new PushBatchingWriter(delegate, 3, 10, () -> scheduler, "X", messageCount, frameCount);
+    }
+
+    @Test
+    void write_maxItemsReached_singleFrameWithLengthPrefixes() throws IOException {
+        writer.write(response, "{\"id\":1}");
+        writer.write(response, "{\"id\":22}");
+        assertEquals(List.of(), frames);
+
+        writer.write(response, "{\"id\":333}");
+
+        assertEquals(List.of("8|{\"id\":1}9|{\"id\":22}10|{\"id\":333}"), frames);
+        assertEquals(List.of(true), skippedTracking);
+        assertEquals(0, requestAttributes.size());
+        assertEquals(3, messageCount.sum());
+        assertEquals(1, frameCount.sum());
+    }
+
+    @Test
+    void write_delayExpires_pendingMessagesFlushed() throws IOException {
+        writer.write(response, "{\"id\":1}");
+        writer.write(response, "{\"id\":2}");
+        assertEquals(1, scheduledTasks.size());
+
+        scheduledTasks.get(0).run();
+
+        assertEquals(List.of("8|{\"id\":1}8|{\"id\":2}"), frames);
+    }
+
+    @Test
+    void write_singleMessageInWindow_writtenAsIs() throws IOException {
+        writer.write(response, "{\"id\":1}");
+
+        scheduledTasks.get(0).run();
+
+        assertEquals(List.of("{\"id\":1}"), frames);
+        assertEquals(List.of(false), skippedTracking);
+    }
+
+    @Test
+    void write_blankPadding_pendingFlushedBeforePadding() throws IOException {
+        writer.write(response, "{\"id\":1}");
+        writer.write(response, "{\"id\":2}");
+        writer.write(response, "  ");
+
+        assertEquals(List.of("8|{\"id\":1}8|{\"id\":2}", "  "), frames);
+        assertEquals(List.of(true, false), skippedTracking);
+    }
+
+    @Test
+    void write_bytes_decodedAsUtf8() throws IOException {
+        writer.write(response, "{\"v\":\"è\"}".getBytes(StandardCharsets.UTF_8));
+        writer.write(response, "{\"v\":1}");
+        writer.flush(response);
+
+        assertEquals(List.of("9|{\"v\":\"è\"}7|{\"v\":1}"), frames);
+    }
+
+    @Test
+    void write_heartbeatPadding_pendingFlushedBeforePaddingWithoutPrefix() throws IOException {
+        writer.write(response, "{\"id\":1}");
+        writer.write(response, "{\"id\":2}");
+        writer.write(response, "X".getBytes(StandardCharsets.UTF_8), 0, 1);
+
+        assertEquals(List.of("8|{\"id\":1}8|{\"id\":2}", "X"), frames);
+        assertEquals(List.of(true, false), skippedTracking);
+        assertEquals(2, messageCount.sum());
+    }
+
+    @Test
+    void close_pendingMessages_writtenBeforeClosing() throws IOException {
+        writer.write(response, "{\"id\":1}");
+        writer.write(response, "{\"id\":2}");
+
+        writer.close(response);
+
+        assertEquals(List.of("8|{\"id\":1}8|{\"id\":2}", CLOSED), frames);
+    }
+}
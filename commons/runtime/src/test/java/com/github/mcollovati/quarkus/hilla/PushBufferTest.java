@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.util.RawValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PushBufferTest {
+
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private final Executor executor = pendingTasks::add;
+    private final PushBufferMetrics metrics = new PushBufferMetrics();
+    private final List<Object> received = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private boolean completed;
+
+    @Test
+    void dropOldest_slowSubscriber_keepsNewestItems() {
+        subscribe(Flux.range(1, 5), new PushBufferSettings(2, 0, SharedSubscription.Overflow.DROP_OLDEST));
+        assertEquals(2, metrics.getQueueDepth("endpoint", "method"));
+
+        runPendingTasks();
+
+        assertEquals(List.of(4, 5), received);
+        assertTrue(completed);
+        assertEquals(3, metrics.getDroppedCount("endpoint", "method"));
+        assertEquals(0, metrics.getQueueDepth("endpoint", "method"));
+    }
+
+    @Test
+    void dropLatest_slowSubscriber_keepsOldestItems() {
+        subscribe(Flux.range(1, 5), new PushBufferSettings(2, 0, SharedSubscription.Overflow.DROP_LATEST));
+
+        runPendingTasks();
+
+        assertEquals(List.of(1, 2), received);
+        assertEquals(3, metrics.getDroppedCount("endpoint", "method"));
+    }
+
+    @Test
+    void conflateLatest_slowSubscriber_keepsLatestItem() {
+        subscribe(Flux.range(1, 5), new PushBufferSettings(2, 0, SharedSubscription.Overflow.CONFLATE_LATEST));
+
+        runPendingTasks();
+
+        assertEquals(List.of(5), received);
+        assertEquals(4, metrics.getDroppedCount("endpoint", "method"));
+    }
+
+    @Test
+    void error_slowSubscriber_failsSubscription() {
+        subscribe(Flux.range(1, 5), new PushBufferSettings(2, 0, SharedSubscription.Overflow.ERROR));
+
+        runPendingTasks();
+
+        assertEquals(List.of(), received);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void maxBytes_itemsSerializedOnce_sizeLimitApplied() {
+        // each item is 7 characters once serialized
+        subscribe(
+                Flux.just("item1", "item2", "item3"),
+                new PushBufferSettings(0, 15, SharedSubscription.Overflow.DROP_OLDEST));
+
+        runPendingTasks();
+
+        assertEquals(2, received.size());
+        assertInstanceOf(RawValue.class, received.get(0));
+        assertEquals("\"item2\"", ((RawValue) received.get(0)).rawValue());
+        assertEquals("\"item3\"", ((RawValue) received.get(1)).rawValue());
+    }
+
+    @Test
+    void fastSubscriber_allItemsDelivered() {
+        Executor direct = Runnable::run;
+        PushBuffer.apply(
+                        Flux.range(1, 100),
+                        new PushBufferSettings(2, 0, SharedSubscription.Overflow.DROP_OLDEST),
+                        direct,
+                        new ObjectMapper(),
+                        metrics.counters("endpoint", "method"))
+                .subscribe(received::add);
+
+        assertEquals(100, received.size());
+        assertEquals(0, metrics.getDroppedCount("endpoint", "method"));
+    }
+
+    private void subscribe(Flux<?> source, PushBufferSettings settings) {
+        PushBuffer.apply(source, settings, executor, new ObjectMapper(), metrics.counters("endpoint", "method"))
+                .subscribe(received::add, errors::add, () -> completed = true);
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+}
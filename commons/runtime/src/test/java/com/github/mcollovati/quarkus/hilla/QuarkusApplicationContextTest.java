@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Singleton;
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuarkusApplicationContextTest {
+
+    private final BeanManager beanManager = mock(BeanManager.class);
+    private final QuarkusApplicationContext context = new QuarkusApplicationContext(beanManager);
+
+    @AfterEach
+    void clearCache() {
+        QuarkusApplicationContext.clearBeanCache();
+    }
+
+    @Test
+    void getBean_normalScoped_referenceCached() {
+        registerBean(ApplicationScoped.class);
+
+        Service first = context.getBean(Service.class);
+        Service second = context.getBean(Service.class);
+
+        assertSame(first, second);
+        verify(beanManager, times(1)).getBeans(eq(Service.class), any());
+    }
+
+    @Test
+    void getBean_singleton_referenceCached() {
+        registerBean(Singleton.class);
+
+        assertSame(context.getBean(Service.class), context.getBean(Service.class));
+        verify(beanManager, times(1)).getBeans(eq(Service.class), any());
+    }
+
+    @Test
+    void getBean_dependent_newInstanceOnEveryLookup() {
+        registerBean(Dependent.class);
+
+        assertNotSame(context.getBean(Service.class), context.getBean(Service.class));
+        verify(beanManager, times(2)).getBeans(eq(Service.class), any());
+    }
+
+    @Test
+    void clearBeanCache_referenceResolvedAgain() {
+        registerBean(ApplicationScoped.class);
+
+        Service first = context.getBean(Service.class);
+        QuarkusApplicationContext.clearBeanCache();
+        Service second = context.getBean(Service.class);
+
+        assertNotSame(first, second);
+        verify(beanManager, times(2)).getBeans(eq(Service.class), any());
+    }
+
+    private void registerBean(Class<? extends Annotation> scope) {
+        Bean<?> bean = mock(Bean.class);
+        doReturn(scope).when(bean).getScope();
+        doReturn(Set.of(bean)).when(beanManager).getBeans(eq(Service.class), any());
+        doReturn(bean).when(beanManager).resolve(any());
+        when(beanManager.isNormalScope(ApplicationScoped.class)).thenReturn(true);
+        when(beanManager.getReference(eq(bean), eq(Service.class), any())).thenAnswer(invocation -> new Service());
+    }
+
+    static class Service {}
+}
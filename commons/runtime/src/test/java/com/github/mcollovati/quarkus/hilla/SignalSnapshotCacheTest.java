@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.Map;
+
+import com.vaadin.flow.signals.Id;
+import com.vaadin.flow.signals.Node;
+import com.vaadin.flow.signals.SignalCommand;
+import com.vaadin.flow.signals.shared.impl.Snapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SignalSnapshotCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void clearCache() {
+        SignalSnapshotCache.clear();
+    }
+
+    @Test
+    void valueToTree_sameSnapshot_treeReusedWithOwnCommandId() {
+        Map<Id, Node> nodes = new Snapshot(Id.random(), true).nodes();
+        SignalCommand.SnapshotCommand first = new SignalCommand.SnapshotCommand(Id.random(), nodes);
+        SignalCommand.SnapshotCommand second = new SignalCommand.SnapshotCommand(Id.random(), nodes);
+
+        JsonNode firstTree = HillaReplacements.internalSignal_valueToTree(objectMapper, first);
+        JsonNode secondTree = HillaReplacements.internalSignal_valueToTree(objectMapper, second);
+
+        assertEquals(objectMapper.valueToTree(first), firstTree);
+        assertEquals(objectMapper.valueToTree(second), secondTree);
+        assertEquals(1, SignalSnapshotCache.getMissCount());
+        assertEquals(1, SignalSnapshotCache.getHitCount());
+    }
+
+    @Test
+    void valueToTree_newSnapshot_convertedAgain() {
+        SignalCommand.SnapshotCommand first = new SignalCommand.SnapshotCommand(
+                Id.random(), new Snapshot(Id.random(), true).nodes());
+        SignalCommand.SnapshotCommand second = new SignalCommand.SnapshotCommand(
+                Id.random(), new Snapshot(Id.random(), true).nodes());
+
+        HillaReplacements.internalSignal_valueToTree(objectMapper, first);
+        JsonNode secondTree = HillaReplacements.internalSignal_valueToTree(objectMapper, second);
+
+        assertEquals(objectMapper.valueToTree(second), secondTree);
+        assertEquals(2, SignalSnapshotCache.getMissCount());
+        assertEquals(0, SignalSnapshotCache.getHitCount());
+    }
+
+    @Test
+    void valueToTree_notSnapshot_notCached() {
+        JsonNode tree = HillaReplacements.internalSignal_valueToTree(objectMapper, Map.of("value", 1));
+
+        assertEquals(objectMapper.valueToTree(Map.of("value", 1)), tree);
+        assertEquals(0, SignalSnapshotCache.size());
+        assertEquals(0, SignalSnapshotCache.getMissCount());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.vaadin.hilla.EndpointRegistry;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import org.eclipse.microprofile.context.ThreadContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VirtualThreadDispatcherTest {
+
+    private final Map<String, EndpointRegistry.VaadinEndpointData> endpoints = new HashMap<>();
+    private final VirtualThreadDispatcher dispatcher = dispatcher();
+
+    @Test
+    void isEnabled_annotatedMethod_true() throws NoSuchMethodException {
+        registerEndpoint("service", new AnnotatedEndpoint());
+
+        assertTrue(dispatcher.isEnabled("Service", "call"));
+    }
+
+    @Test
+    void isEnabled_endpointReplacedAndCleared_decisionRecomputed() throws NoSuchMethodException {
+        registerEndpoint("service", new AnnotatedEndpoint());
+        assertTrue(dispatcher.isEnabled("service", "call"));
+
+        registerEndpoint("service", new PlainEndpoint());
+        assertTrue(dispatcher.isEnabled("service", "call"));
+        dispatcher.clear();
+
+        assertFalse(dispatcher.isEnabled("service", "call"));
+    }
+
+    private VirtualThreadDispatcher dispatcher() {
+        EndpointRegistry registry = mock(EndpointRegistry.class);
+        when(registry.getEndpoints()).thenReturn(endpoints);
+        return new VirtualThreadDispatcher(registry, false, Runnable::run, mock(ThreadContext.class));
+    }
+
+    private void registerEndpoint(String name, Object endpoint) throws NoSuchMethodException {
+        EndpointRegistry.VaadinEndpointData data = mock(EndpointRegistry.VaadinEndpointData.class);
+        when(data.getEndpointObject()).thenReturn(endpoint);
+        when(data.getMethod("call")).thenReturn(Optional.of(endpoint.getClass().getMethod("call")));
+        endpoints.put(name, data);
+    }
+
+    public static class AnnotatedEndpoint {
+        @RunOnVirtualThread
+        public void call() {}
+    }
+
+    public static class PlainEndpoint {
+        public void call() {}
+    }
+}
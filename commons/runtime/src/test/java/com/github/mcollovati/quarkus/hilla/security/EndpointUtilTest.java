@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.security;
+
+import jakarta.annotation.security.DenyAll;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.server.auth.AccessAnnotationChecker;
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.hilla.EndpointRegistry;
+import com.vaadin.hilla.auth.EndpointAccessChecker;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+
+import com.github.mcollovati.quarkus.hilla.QuarkusEndpointConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EndpointUtilTest {
+
+    private final Map<String, EndpointRegistry.VaadinEndpointData> endpoints = new HashMap<>();
+    private final EndpointUtil endpointUtil = endpointUtil();
+
+    @Test
+    void getEndpointAccess_annotatedMethods_resolvedAccess() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+
+        assertEquals(
+                EndpointUtil.AccessKind.ANONYMOUS,
+                endpointUtil.getEndpointAccess("securedendpoint", "anonymous").kind());
+        assertEquals(
+                EndpointUtil.AccessKind.AUTHENTICATED,
+                endpointUtil.getEndpointAccess("SecuredEndpoint", "authenticated").kind());
+        assertEquals(
+                EndpointUtil.AccessKind.DENIED,
+                endpointUtil.getEndpointAccess("SecuredEndpoint", "denied").kind());
+        assertEquals(
+                EndpointUtil.AccessKind.DENIED,
+                endpointUtil.getEndpointAccess("SecuredEndpoint", "notAnnotated").kind());
+        EndpointUtil.EndpointAccess roles = endpointUtil.getEndpointAccess("SecuredEndpoint", "ROLES");
+        assertEquals(EndpointUtil.AccessKind.ROLES, roles.kind());
+        assertEquals(Set.of("admin", "user"), roles.roles());
+    }
+
+    @Test
+    void getEndpointAccess_inheritedMethod_endpointClassAnnotationsApply() {
+        registerEndpoint("AnonymousEndpoint", new AnonymousEndpoint());
+
+        assertEquals(
+                EndpointUtil.AccessKind.ANONYMOUS,
+                endpointUtil.getEndpointAccess("AnonymousEndpoint", "inherited").kind());
+    }
+
+    @Test
+    void getEndpointAccess_unknownEndpointOrMethod_null() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+
+        assertNull(endpointUtil.getEndpointAccess("UnknownEndpoint", "anonymous"));
+        assertNull(endpointUtil.getEndpointAccess("SecuredEndpoint", "unknown"));
+    }
+
+    @Test
+    void getEndpointAccess_endpointRegisteredLater_tableRebuilt() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+        assertNull(endpointUtil.getEndpointAccess("AnonymousEndpoint", "inherited"));
+
+        registerEndpoint("AnonymousEndpoint", new AnonymousEndpoint());
+
+        assertEquals(
+                EndpointUtil.AccessKind.ANONYMOUS,
+                endpointUtil.getEndpointAccess("AnonymousEndpoint", "inherited").kind());
+    }
+
+    @Test
+    void getEndpointAccess_matchesAccessAnnotationChecker() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+        AccessAnnotationChecker checker = new AccessAnnotationChecker();
+        Function<String, Boolean> noRoles = role -> false;
+
+        for (Method method : SecuredEndpoint.class.getDeclaredMethods()) {
+            boolean anonymous = endpointUtil.getEndpointAccess("SecuredEndpoint", method.getName()).kind()
+                    == EndpointUtil.AccessKind.ANONYMOUS;
+            assertEquals(checker.hasAccess(method, null, noRoles), anonymous, method.getName());
+        }
+    }
+
+    @Test
+    void getEndpointAccess_endpointsRegisteredAgain_tableRebuilt() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+        assertNull(endpointUtil.getEndpointAccess("SecuredEndpoint", "inherited"));
+
+        registerEndpoint("SecuredEndpoint", new AnonymousEndpoint());
+        endpointUtil.onEndpointsRegistered(null);
+
+        assertEquals(
+                EndpointUtil.AccessKind.ANONYMOUS,
+                endpointUtil.getEndpointAccess("SecuredEndpoint", "inherited").kind());
+        assertNull(endpointUtil.getEndpointAccess("SecuredEndpoint", "anonymous"));
+    }
+
+    @Test
+    void isAnonymousEndpoint_anonymousMethodInsideEndpointPrefix_true() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+
+        assertTrue(endpointUtil.isAnonymousEndpoint(request("/connect/SecuredEndpoint/anonymous")));
+    }
+
+    @Test
+    void isAnonymousEndpoint_requestOutsideEndpointPrefix_false() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+
+        assertFalse(endpointUtil.isAnonymousEndpoint(request("/other/SecuredEndpoint/anonymous")));
+    }
+
+    @Test
+    void isAnonymousEndpoint_securedMethod_false() {
+        registerEndpoint("SecuredEndpoint", new SecuredEndpoint());
+
+        assertFalse(endpointUtil.isAnonymousEndpoint(request("/connect/SecuredEndpoint/authenticated")));
+    }
+
+    private EndpointUtil endpointUtil() {
+        EndpointRegistry registry = mock(EndpointRegistry.class);
+        when(registry.getEndpoints()).thenReturn(endpoints);
+        EndpointAccessChecker accessChecker = mock(EndpointAccessChecker.class);
+        when(accessChecker.getAccessAnnotationChecker()).thenReturn(new AccessAnnotationChecker());
+        QuarkusEndpointConfiguration configuration = mock(QuarkusEndpointConfiguration.class);
+        when(configuration.getNormalizedEndpointPrefix()).thenReturn("/connect");
+        return new EndpointUtil(registry, accessChecker, configuration);
+    }
+
+    private void registerEndpoint(String name, Object endpoint) {
+        EndpointRegistry.VaadinEndpointData data = mock(EndpointRegistry.VaadinEndpointData.class);
+        when(data.getEndpointObject()).thenReturn(endpoint);
+        Map<String, Method> methods = Arrays.stream(endpoint.getClass().getMethods())
+                .filter(method -> method.getDeclaringClass() != Object.class)
+                .collect(Collectors.toMap(method -> method.getName().toLowerCase(), method -> method));
+        when(data.getMethods()).thenReturn(methods);
+        endpoints.put(name.toLowerCase(), data);
+    }
+
+    private static RoutingContext request(String path) {
+        String[] segments = path.split("/");
+        RoutingContext context = mock(RoutingContext.class);
+        when(context.normalizedPath()).thenReturn(path);
+        when(context.pathParam("endpoint")).thenReturn(segments[2]);
+        when(context.pathParam("method")).thenReturn(segments[3]);
+        return context;
+    }
+
+    public static class SecuredEndpoint {
+        @AnonymousAllowed
+        public void anonymous() {}
+
+        @PermitAll
+        public void authenticated() {}
+
+        @DenyAll
+        public void denied() {}
+
+        @RolesAllowed({"admin", "user"})
+        public void roles() {}
+
+        public void notAnnotated() {}
+    }
+
+    public static class BaseEndpoint {
+        public void inherited() {}
+    }
+
+    @AnonymousAllowed
+    public static class AnonymousEndpoint extends BaseEndpoint {}
+}
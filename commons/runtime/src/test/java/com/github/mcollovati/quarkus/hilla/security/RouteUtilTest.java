@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.security;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.vaadin.flow.server.menu.AvailableViewInfo;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.vertx.http.runtime.security.ImmutablePathMatcher;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RouteUtilTest {
+
+    private static final String[] ROLES = {"r0", "r1", "r2", "r3", "r4", "r5", "r6", "r7", "r8"};
+
+    @Test
+    void matcherFor_accessProfile_routesFiltered() {
+        RouteUtil.RouteTable table = routeTable();
+
+        ImmutablePathMatcher<AvailableViewInfo> anonymous = table.matcherFor(anonymous());
+        assertNotNull(anonymous.match("/public").getValue());
+        assertNull(anonymous.match("/private").getValue());
+        assertNull(anonymous.match("/admin").getValue());
+
+        ImmutablePathMatcher<AvailableViewInfo> admin = table.matcherFor(identity("r0"));
+        assertNotNull(admin.match("/private").getValue());
+        assertNotNull(admin.match("/admin").getValue());
+    }
+
+    @Test
+    void matcherFor_sameAccessProfile_matcherReused() {
+        RouteUtil.RouteTable table = routeTable();
+
+        ImmutablePathMatcher<AvailableViewInfo> matcher = table.matcherFor(identity("r0"));
+
+        // roles not referenced by any route do not change the access profile
+        assertSame(matcher, table.matcherFor(identity("r0", "unrelated")));
+        assertNotSame(matcher, table.matcherFor(identity("r1")));
+        assertNotSame(matcher, table.matcherFor(anonymous()));
+    }
+
+    @Test
+    void matcherFor_moreProfilesThanCacheSize_leastRecentlyUsedEvicted() {
+        RouteUtil.RouteTable table = routeTable();
+        ImmutablePathMatcher<AvailableViewInfo> eldest = table.matcherFor(identity());
+        ImmutablePathMatcher<AvailableViewInfo> recent = table.matcherFor(identity(rolesOf(1)));
+
+        for (int mask = 2; mask <= RouteUtil.MAX_CACHED_ACCESS_PROFILES; mask++) {
+            table.matcherFor(identity(rolesOf(mask)));
+            if (mask == RouteUtil.MAX_CACHED_ACCESS_PROFILES / 2) {
+                assertSame(recent, table.matcherFor(identity(rolesOf(1))));
+            }
+        }
+
+        assertSame(recent, table.matcherFor(identity(rolesOf(1))));
+        assertNotSame(eldest, table.matcherFor(identity()));
+    }
+
+    private static RouteUtil.RouteTable routeTable() {
+        return new RouteUtil.RouteTable(
+                Map.of(
+                        "/public", view("/public", false),
+                        "/private", view("/private", true),
+                        "/admin", view("/admin", true, ROLES)));
+    }
+
+    private static AvailableViewInfo view(String route, boolean loginRequired, String... roles) {
+        return new AvailableViewInfo(route, roles, loginRequired, route, false, false, null, null, null, false, null);
+    }
+
+    private static String[] rolesOf(int mask) {
+        Set<String> roles = new HashSet<>();
+        for (int i = 0; i < ROLES.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                roles.add(ROLES[i]);
+            }
+        }
+        return roles.toArray(String[]::new);
+    }
+
+    private static SecurityIdentity anonymous() {
+        SecurityIdentity identity = mock(SecurityIdentity.class);
+        when(identity.isAnonymous()).thenReturn(true);
+        return identity;
+    }
+
+    private static SecurityIdentity identity(String... roles) {
+        Set<String> granted = Set.of(roles);
+        SecurityIdentity identity = mock(SecurityIdentity.class);
+        when(identity.hasRole(anyString())).thenAnswer(invocation -> granted.contains(invocation.getArgument(0)));
+        return identity;
+    }
+}
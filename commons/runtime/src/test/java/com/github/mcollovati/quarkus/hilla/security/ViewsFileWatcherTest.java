@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.security;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ViewsFileWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void watchedFileChanged_actionRun() throws IOException {
+        Path viewsFile = directory.resolve("file-routes.json");
+        AtomicInteger changes = new AtomicInteger();
+        try (ViewsFileWatcher ignored = new ViewsFileWatcher(viewsFile, changes::incrementAndGet)) {
+            Files.writeString(viewsFile, "[]");
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> changes.get() > 0);
+        }
+    }
+
+    @Test
+    void otherFileChanged_actionNotRun() throws IOException, InterruptedException {
+        Path viewsFile = directory.resolve("file-routes.json");
+        AtomicInteger changes = new AtomicInteger();
+        try (ViewsFileWatcher ignored = new ViewsFileWatcher(viewsFile, changes::incrementAndGet)) {
+            Files.writeString(directory.resolve("other.json"), "[]");
+            Thread.sleep(500);
+
+            assertEquals(0, changes.get());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.signals;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcSignalStoreTest {
+
+    private final DataSource dataSource = Mockito.mock(DataSource.class);
+
+    @Test
+    void new_validTableName_accepted() {
+        for (String table : List.of("hilla_signal_log", "app.signals", "_Signals2")) {
+            assertDoesNotThrow(() -> new JdbcSignalStore(dataSource, table), table);
+        }
+    }
+
+    @Test
+    void new_invalidTableName_throws() {
+        for (String table :
+                List.of("", "1signals", "signals; drop table users", "signals where 1=1 --", "\"signals\"", "a.b.c")) {
+            assertThrows(IllegalArgumentException.class, () -> new JdbcSignalStore(dataSource, table), table);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Marco Collovati, Dario Götze
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mcollovati.quarkus.hilla.signals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.vaadin.flow.signals.shared.SharedListSignal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersistentSignalsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void list_changesStored_restoredByNewInstance() {
+        PersistentSignals signals = create(0, Duration.ofMinutes(5));
+        SharedListSignal<String> list = signals.list("chat", String.class);
+        list.insertLast("first");
+        list.insertLast("second");
+        list.remove(list.peek().get(0));
+        signals.number("counter").incrementBy(3);
+
+        PersistentSignals restored = create(0, Duration.ofMinutes(5));
+
+        assertEquals(List.of("second"), restored.list("chat", String.class).peekValues().toList());
+        assertEquals(3.0, restored.number("counter").peek());
+        assertEquals(4, signals.getAppendCount());
+    }
+
+    @Test
+    void list_compactAfterReached_logReplacedBySnapshot() {
+        PersistentSignals signals = create(3, Duration.ofMinutes(5));
+        SharedListSignal<String> list = signals.list("chat", String.class);
+        for (int i = 0; i < 7; i++) {
+            list.insertLast("message " + i);
+        }
+
+        assertEquals(2, signals.getCompactionCount());
+        assertEquals(1, new FileSignalStore(directory).load("chat").size());
+        assertEquals(
+                list.peekValues().toList(),
+                create(3, Duration.ofMinutes(5)).list("chat", String.class).peekValues().toList());
+    }
+
+    @Test
+    void load_incompleteRecord_dropped() throws IOException {
+        PersistentSignals signals = create(0, Duration.ofMinutes(5));
+        signals.number("counter").incrementBy(1);
+        try (var files = Files.list(directory)) {
+            Path file = files.findFirst().orElseThrow();
+            Files.write(file, new byte[] {0, 0, 0, 42, '{'}, StandardOpenOption.APPEND);
+        }
+
+        create(0, Duration.ofMinutes(5)).number("counter").incrementBy(1);
+
+        assertEquals(2.0, create(0, Duration.ofMinutes(5)).number("counter").peek());
+    }
+
+    @Test
+    void evictIdle_referencedSignal_reused() {
+        PersistentSignals signals = create(0, Duration.ZERO);
+        SharedListSignal<String> list = signals.list("chat", String.class);
+
+        signals.evictIdle();
+        System.gc();
+
+        assertSame(list, signals.list("chat", String.class));
+        assertEquals(1, signals.getLoadCount());
+    }
+
+    @Test
+    void evictIdle_unreferencedSignal_releasedAndLoadedAgain() {
+        PersistentSignals signals = create(0, Duration.ZERO);
+        signals.list("chat", String.class).insertLast("message");
+
+        signals.evictIdle();
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            System.gc();
+            return signals.getLoadedCount() == 0;
+        });
+
+        assertEquals(1, signals.getUnloadCount());
+        assertEquals(List.of("message"), signals.list("chat", String.class).peekValues().toList());
+        assertEquals(2, signals.getLoadCount());
+    }
+
+    @Test
+    void evictIdle_unreferencedSignal_releasedFromStore() {
+        List<String> released = new CopyOnWriteArrayList<>();
+        PersistentSignals signals = new PersistentSignals(
+                new FileSignalStore(directory) {
+                    @Override
+                    public void release(String name) {
+                        released.add(name);
+                    }
+                },
+                objectMapper,
+                0,
+                Duration.ZERO,
+                Runnable::run);
+        signals.number("counter").incrementBy(1);
+
+        signals.evictIdle();
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            System.gc();
+            return signals.getLoadedCount() == 0;
+        });
+
+        assertEquals(List.of("counter"), released);
+    }
+
+    @Test
+    void append_storeFails_signalLoadedAgain() {
+        AtomicInteger failures = new AtomicInteger(1);
+        PersistentSignals signals = new PersistentSignals(
+                new FileSignalStore(directory) {
+                    @Override
+                    public void append(String name, List<String> commands) {
+                        if (failures.getAndDecrement() > 0) {
+                            throw new IllegalStateException("Storage unavailable");
+                        }
+                        super.append(name, commands);
+                    }
+                },
+                objectMapper,
+                0,
+                Duration.ofMinutes(5),
+                Runnable::run);
+        SharedListSignal<String> list = signals.list("chat", String.class);
+        list.insertLast("lost");
+
+        SharedListSignal<String> reloaded = signals.list("chat", String.class);
+        reloaded.insertLast("stored");
+
+        assertEquals(1, signals.getStoreFailureCount());
+        assertEquals(2, signals.getLoadCount());
+        assertEquals(List.of("stored"), reloaded.peekValues().toList());
+        assertEquals(
+                List.of("stored"),
+                create(0, Duration.ofMinutes(5)).list("chat", String.class).peekValues().toList());
+    }
+
+    @Test
+    void append_slowStore_changesWrittenInOrder() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PersistentSignals signals = new PersistentSignals(
+                    new FileSignalStore(directory), objectMapper, 3, Duration.ofMinutes(5), executor);
+            SharedListSignal<String> list = signals.list("chat", String.class);
+            for (int i = 0; i < 10; i++) {
+                list.insertLast("message " + i);
+            }
+            signals.close();
+
+            assertEquals(
+                    list.peekValues().toList(),
+                    create(3, Duration.ofMinutes(5)).list("chat", String.class).peekValues().toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void signal_differentKind_throws() {
+        PersistentSignals signals = create(0, Duration.ofMinutes(5));
+        signals.number("counter");
+
+        assertThrows(IllegalStateException.class, () -> signals.list("counter", String.class));
+    }
+
+    @Test
+    void close_registeredActions_runOnce() {
+        PersistentSignals signals = create(0, Duration.ofMinutes(5));
+        AtomicInteger closed = new AtomicInteger();
+        signals.onClose(closed::incrementAndGet);
+
+        signals.close();
+        signals.close();
+
+        assertEquals(1, closed.get());
+    }
+
+    private PersistentSignals create(int compactAfter, Duration idleTimeout) {
+        return new PersistentSignals(
+                new FileSignalStore(directory), objectMapper, compactAfter, idleTimeout, Runnable::run);
+    }
+}